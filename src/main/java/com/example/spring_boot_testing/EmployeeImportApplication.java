@@ -0,0 +1,33 @@
+package com.example.spring_boot_testing;
+
+import com.example.spring_boot_testing.dto.EmployeeImportResult;
+import com.example.spring_boot_testing.ingest.EmployeeCsvImporter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Command line import without the web server:
+ * {@code java -cp app.jar -Dloader.main=com.example.spring_boot_testing.EmployeeImportApplication
+ * org.springframework.boot.loader.launch.PropertiesLauncher employees.csv [--employee.import.parse-workers=8]}
+ */
+public class EmployeeImportApplication {
+
+	public static void main(String[] args) throws Exception {
+		if (args.length == 0) {
+			System.err.println("usage: EmployeeImportApplication <employees.csv> [--property=value ...]");
+			System.exit(2);
+		}
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringBootTestingApplication.class)
+				.web(WebApplicationType.NONE)
+				.run(Arrays.copyOfRange(args, 1, args.length));
+		EmployeeImportResult result = context.getBean(EmployeeCsvImporter.class)
+				.importFile(Path.of(args[0]), progress -> System.out.println(progress));
+		System.out.println(result);
+		System.exit(SpringApplication.exit(context));
+	}
+}
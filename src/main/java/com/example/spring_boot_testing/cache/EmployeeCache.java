@@ -0,0 +1,129 @@
+package com.example.spring_boot_testing.cache;
+
+import com.example.spring_boot_testing.exception.EmployeeLookupTimeoutException;
+import com.example.spring_boot_testing.model.Employee;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Bounded read-through cache of employees by id. Absent ids are cached too, for a shorter time,
+ * so repeated 404 lookups do not reach the database. Entries are copies of the loaded entity and
+ * callers get their own copy, so mutating a returned employee never changes what is cached.
+ *
+ * <p>Misses go through a {@link SingleFlight}: when many requests miss on the same id at once, one
+ * of them runs the database lookup and the rest wait up to {@code load-timeout} for its result or
+ * its failure, instead of queueing on the cache's per-key lock one after the other.
+ */
+@Component
+public class EmployeeCache {
+
+    public static final String LOOKUPS_COUNTER = "employee.cache.lookups";
+
+    private final Cache<Long, Optional<Employee>> cache;
+    private final SingleFlight<Long, Optional<Employee>> loads;
+
+    public EmployeeCache(@Value("${employee.cache.maximum-size:10000}") long maximumSize,
+                         @Value("${employee.cache.ttl:5m}") Duration ttl,
+                         @Value("${employee.cache.negative-ttl:5s}") Duration negativeTtl,
+                         @Value("${employee.cache.load-timeout:2s}") Duration loadTimeout) {
+        this.loads = new SingleFlight<>(loadTimeout);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<Long, Optional<Employee>>() {
+                    @Override
+                    public long expireAfterCreate(Long id, Optional<Employee> employee, long currentTime) {
+                        return employee.isPresent() ? ttl.toNanos() : negativeTtl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long id, Optional<Employee> employee, long currentTime, long currentDuration) {
+                        return expireAfterCreate(id, employee, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long id, Optional<Employee> employee, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    // loading is atomic per id, so an invalidate that races with a load waits for it and then removes the result
+    public Optional<Employee> get(long id, Function<Long, Optional<Employee>> loader) {
+        Optional<Employee> employee = cache.getIfPresent(id);
+        if (employee == null) {
+            try {
+                // compute rather than get, so the miss above is the only one recorded
+                employee = loads.execute(id, key -> cache.asMap().compute(key, (k, cached) ->
+                        cached != null ? cached : loader.apply(k).map(EmployeeCache::copy)));
+            } catch (TimeoutException e) {
+                throw new EmployeeLookupTimeoutException("Timed out waiting for the lookup of employee " + id, e);
+            }
+        }
+        return employee.map(EmployeeCache::copy);
+    }
+
+    // never loads: empty when the id is not cached or is cached as missing
+    public Optional<Employee> getIfPresent(long id) {
+        Optional<Employee> employee = cache.getIfPresent(id);
+        return employee == null ? Optional.empty() : employee.map(EmployeeCache::copy);
+    }
+
+    // cached ids only, each counted as a hit; an id cached as missing maps to empty
+    public Map<Long, Optional<Employee>> getAllPresent(Iterable<Long> ids) {
+        Map<Long, Optional<Employee>> present = new HashMap<>();
+        cache.getAllPresent(ids).forEach((id, employee) -> present.put(id, employee.map(EmployeeCache::copy)));
+        return present;
+    }
+
+    public void invalidate(long id) {
+        cache.invalidate(id);
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public void bindTo(MeterRegistry meterRegistry) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "employees");
+        lookupCounter(meterRegistry, "led", SingleFlight::led);
+        lookupCounter(meterRegistry, "coalesced", SingleFlight::coalesced);
+        lookupCounter(meterRegistry, "timed_out", SingleFlight::timedOut);
+        Gauge.builder("employee.cache.lookups.in_flight", loads, SingleFlight::inFlight)
+                .description("Database lookups currently running for cache misses")
+                .register(meterRegistry);
+    }
+
+    private void lookupCounter(MeterRegistry meterRegistry, String flight,
+                               ToDoubleFunction<SingleFlight<Long, Optional<Employee>>> count) {
+        FunctionCounter.builder(LOOKUPS_COUNTER, loads, count)
+                .description("Cache misses by whether they ran the database lookup, shared another's, or gave up waiting")
+                .tag("flight", flight)
+                .register(meterRegistry);
+    }
+
+    private static Employee copy(Employee employee) {
+        return employee.toBuilder().build();
+    }
+}
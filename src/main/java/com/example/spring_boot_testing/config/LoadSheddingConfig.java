@@ -0,0 +1,50 @@
+package com.example.spring_boot_testing.config;
+
+import com.example.spring_boot_testing.datasource.ConnectionPoolSaturation;
+import com.example.spring_boot_testing.web.LoadSheddingFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Sheds API requests while any Hikari pool (one, or primary and replica when routing is on) is
+ * saturated. Runs just after the observation filter, so rejections still show up in http.server.requests.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(name = "employee.load-shedding.enabled", havingValue = "true")
+public class LoadSheddingConfig {
+
+    @Bean
+    public ConnectionPoolSaturation connectionPoolSaturation(
+            ObjectProvider<HikariDataSource> dataSources, MeterRegistry meterRegistry,
+            @Value("${employee.load-shedding.max-pending-acquisitions:10}") int maxPendingAcquisitions,
+            @Value("${employee.load-shedding.max-acquire-time:200ms}") Duration maxAcquireTime,
+            @Value("${employee.load-shedding.window:1s}") Duration window) {
+        ConnectionPoolSaturation saturation =
+                new ConnectionPoolSaturation(meterRegistry, maxPendingAcquisitions, maxAcquireTime, window);
+        dataSources.orderedStream().forEach(dataSource ->
+                saturation.register(dataSource::getPoolName, dataSource::getHikariPoolMXBean));
+        return saturation;
+    }
+
+    @Bean
+    public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(
+            ConnectionPoolSaturation saturation, MeterRegistry meterRegistry,
+            @Value("${employee.load-shedding.retry-after:1s}") Duration retryAfter) {
+        FilterRegistrationBean<LoadSheddingFilter> registration =
+                new FilterRegistrationBean<>(new LoadSheddingFilter(saturation, retryAfter, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
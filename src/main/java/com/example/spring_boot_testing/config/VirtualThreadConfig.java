@@ -0,0 +1,31 @@
+package com.example.spring_boot_testing.config;
+
+import com.example.spring_boot_testing.web.ConnectionPoolBulkheadFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Extra wiring for spring.threads.virtual.enabled=true. Boot already moves Tomcat request handling
+ * and the application task executor onto virtual threads; this bounds the API requests that may
+ * reach the connection pool at the same time to a multiple of the pool size.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConnectionPoolBulkheadFilter> connectionPoolBulkheadFilter(
+            @Value("${employee.virtual-threads.max-concurrent-requests:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrentRequests,
+            @Value("${employee.virtual-threads.acquire-timeout:2s}") Duration acquireTimeout) {
+        FilterRegistrationBean<ConnectionPoolBulkheadFilter> registration =
+                new FilterRegistrationBean<>(new ConnectionPoolBulkheadFilter(maxConcurrentRequests, acquireTimeout));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
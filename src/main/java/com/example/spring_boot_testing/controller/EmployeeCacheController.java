@@ -0,0 +1,24 @@
+package com.example.spring_boot_testing.controller;
+
+import com.example.spring_boot_testing.cache.EmployeeCache;
+import com.example.spring_boot_testing.dto.EmployeeCacheStats;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/caches/employees")
+public class EmployeeCacheController {
+
+    private EmployeeCache employeeCache;
+
+    public EmployeeCacheController(EmployeeCache employeeCache) {
+        this.employeeCache = employeeCache;
+    }
+
+    @GetMapping
+    public EmployeeCacheStats getStats(){
+        return EmployeeCacheStats.of(employeeCache.size(), employeeCache.stats());
+    }
+
+}
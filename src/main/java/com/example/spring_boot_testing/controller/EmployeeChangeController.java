@@ -0,0 +1,25 @@
+package com.example.spring_boot_testing.controller;
+
+import com.example.spring_boot_testing.event.EmployeeChangeFeed;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/employees/changes")
+public class EmployeeChangeController {
+
+    private EmployeeChangeFeed changeFeed;
+
+    public EmployeeChangeController(EmployeeChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    // created/updated/deleted events as they commit; resumes after Last-Event-ID when it can, otherwise sends resync
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId){
+        return changeFeed.subscribe(lastEventId);
+    }
+}
@@ -1,66 +1,288 @@
 package com.example.spring_boot_testing.controller;
 
 
+import com.example.spring_boot_testing.dto.BulkDeleteResult;
+import com.example.spring_boot_testing.dto.EmployeeBatchResult;
+import com.example.spring_boot_testing.dto.EmployeeListVersion;
+import com.example.spring_boot_testing.dto.EmployeeMultiGet;
+import com.example.spring_boot_testing.dto.EmployeePage;
+import com.example.spring_boot_testing.dto.EmployeeSearchPage;
+import com.example.spring_boot_testing.dto.EmployeeSuggestion;
+import com.example.spring_boot_testing.dto.EmployeeView;
+import com.example.spring_boot_testing.dto.IngestStatus;
+import com.example.spring_boot_testing.ingest.EmployeeIngestQueue;
 import com.example.spring_boot_testing.model.Employee;
 import com.example.spring_boot_testing.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/employees")
 public class EmployeeController {
 
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final int EXPORT_FLUSH_EVERY = 500;
+    static final int MAX_BATCH_SIZE = 10_000;
+    // unconditional PUTs that keep losing to concurrent writers give up with 409 after this many retries
+    static final int UPDATE_RETRIES = 3;
+
     private EmployeeService employeeService;
+    private ObjectMapper objectMapper;
+    // only present with employee.ingest.mode=async
+    private EmployeeIngestQueue ingestQueue;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, ObjectMapper objectMapper,
+                              ObjectProvider<EmployeeIngestQueue> ingestQueue) {
         this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.ingestQueue = ingestQueue.getIfAvailable();
     }
 
+    // in async mode the insert is queued: 202 with a tracking id to poll, or 429 when the queue is full
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    public Employee createEmployee(@RequestBody Employee employee){
-        return employeeService.saveEmployee(employee);
+    public ResponseEntity<?> createEmployee(@RequestBody Employee employee){
+        if (ingestQueue == null) {
+            return new ResponseEntity<>(employeeService.saveEmployee(employee), HttpStatus.CREATED);
+        }
+        String invalid = EmployeeIngestQueue.validate(employee);
+        if (invalid != null) {
+            return ResponseEntity.badRequest().body(IngestStatus.failed(null, IngestStatus.State.INVALID, invalid));
+        }
+        return ingestQueue.submit(employee)
+                .<ResponseEntity<?>>map(status -> ResponseEntity.accepted()
+                        .location(URI.create("/api/employees/ingest/" + status.trackingId()))
+                        .body(status))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .build());
+    }
+
+    @PostMapping("batch")
+    public ResponseEntity<List<EmployeeBatchResult>> createEmployees(@RequestBody List<Employee> employees){
+        if (employees.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(employeeService.saveEmployees(employees));
     }
 
     @GetMapping
-    public List<Employee> getAllEmployees(){
-        return employeeService.getAllEmployees();
+    public ResponseEntity<List<Employee>> getAllEmployees(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        // taken before the list is read, so a concurrent write can only make the tag older, never newer than the body
+        String eTag = eTag(employeeService.getEmployeesVersion());
+        if (ifNoneMatch != null && matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(employeeService.getAllEmployees());
+    }
+
+    // keyset pagination, selected when a page size is given: /api/employees?size=50&after=<next>
+    @GetMapping(params = "size")
+    public EmployeePage getEmployeesPage(@RequestParam("size") int size,
+                                         @RequestParam(value = "after", defaultValue = "0") long after,
+                                         @RequestParam(value = "count", defaultValue = "false") boolean count){
+        return employeeService.getEmployeesPage(after, size, count);
+    }
+
+    // many employees in one round trip: /api/employees?ids=1,2,3, or POST /api/employees/lookup with [1,2,3] for long lists
+    @GetMapping(params = "ids")
+    public ResponseEntity<EmployeeMultiGet> getEmployeesByIds(@RequestParam("ids") List<Long> ids){
+        return lookupEmployees(ids);
+    }
+
+    @PostMapping("lookup")
+    public ResponseEntity<EmployeeMultiGet> lookupEmployees(@RequestBody List<Long> ids){
+        if (ids.size() > MAX_BATCH_SIZE || ids.contains(null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(employeeService.getEmployeesByIds(ids));
+    }
+
+    @GetMapping(value = "export", produces = APPLICATION_NDJSON_VALUE)
+    public void exportEmployees(HttpServletResponse response) throws IOException {
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        ObjectWriter writer = objectMapper.writerFor(Employee.class);
+        int[] written = {0};
+
+        try {
+            employeeService.exportEmployees(employee -> {
+                try {
+                    out.write(writer.writeValueAsBytes(employee));
+                    out.write('\n');
+                    if (++written[0] % EXPORT_FLUSH_EVERY == 0) {
+                        out.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+    }
+
+    // same JSON as the entity list, read through projections; lastname is a LIKE pattern, firstname an exact match
+    @GetMapping("views")
+    public List<EmployeeView> getEmployeeViews(@RequestParam(value = "lastname", required = false) String lastname,
+                                               @RequestParam(value = "firstname", required = false) String firstname){
+        if (lastname != null) {
+            return employeeService.getEmployeeViewsByLastname(lastname);
+        }
+        if (firstname != null) {
+            return employeeService.getEmployeeViewsByFirstname(firstname);
+        }
+        return employeeService.getAllEmployeeViews();
+    }
+
+    @GetMapping("suggest")
+    public List<EmployeeSuggestion> suggestEmployees(@RequestParam("prefix") String prefix,
+                                                     @RequestParam(value = "limit", defaultValue = "10") int limit){
+        return employeeService.suggestEmployees(prefix, limit);
+    }
+
+    // ranked, typo-tolerant match of every word in q against names and email: /api/employees/search?q=tony stark
+    @GetMapping("search")
+    public EmployeeSearchPage searchEmployees(@RequestParam("q") String query,
+                                              @RequestParam(value = "offset", defaultValue = "0") int offset,
+                                              @RequestParam(value = "limit", defaultValue = "20") int limit){
+        return employeeService.searchEmployees(query, offset, limit);
     }
 
     @GetMapping("{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") long employeeId){
+    public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") long employeeId,
+                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        // a revalidation is answered from the version alone: no row read and no serialization
+        if (ifNoneMatch != null) {
+            Optional<String> eTag = employeeService.getEmployeeVersion(employeeId).map(EmployeeController::eTag);
+            if (eTag.isPresent() && matches(ifNoneMatch, eTag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag.get()).build();
+            }
+        }
         return employeeService.getEmployeeById(employeeId)
-                .map(ResponseEntity::ok)
+                .map(employee -> ResponseEntity.ok().eTag(eTag(employee.getVersion())).body(employee))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    // with If-Match the update only succeeds if the row still has that version, checked by the UPDATE itself;
+    // without it the client asked for no precondition, so a version conflict is retried on a fresh copy
     @PutMapping("{id}")
     public ResponseEntity<Employee> updateEmployee(@PathVariable("id") long employeeId,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                    @RequestBody Employee employee){
-        return employeeService.getEmployeeById(employeeId)
-                .map(savedEmployee -> {
+        Long expectedVersion;
+        try {
+            expectedVersion = ifMatchVersion(ifMatch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        for (int attempt = 0; ; attempt++) {
+            Optional<Employee> savedEmployee = employeeService.getEmployeeById(employeeId);
+            if (savedEmployee.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            Employee updatingEmployee = savedEmployee.get();
+            updatingEmployee.setFirstname(employee.getFirstname());
+            updatingEmployee.setLastname(employee.getLastname());
+            updatingEmployee.setEmail(employee.getEmail());
+            if (expectedVersion != null) {
+                updatingEmployee.setVersion(expectedVersion);
+            }
 
-                    savedEmployee.setFirstname(employee.getFirstname());
-                    savedEmployee.setLastname(employee.getLastname());
-                    savedEmployee.setEmail(employee.getEmail());
-
-                    Employee updatedEmployee = employeeService.updateEmployee(savedEmployee);
-                    return new ResponseEntity<>(updatedEmployee, HttpStatus.OK);
+            try {
+                Employee updatedEmployee = employeeService.updateEmployee(updatingEmployee);
+                return ResponseEntity.ok().eTag(eTag(updatedEmployee.getVersion())).body(updatedEmployee);
+            } catch (OptimisticLockingFailureException e) {
+                if (expectedVersion != null) {
+                    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+                }
+                if (attempt == UPDATE_RETRIES) {
+                    return ResponseEntity.status(HttpStatus.CONFLICT).build();
+                }
+            }
+        }
+    }
 
-                })
-                .orElseGet(() -> ResponseEntity.notFound().build());
+    // partial update in one statement: only the fields present in the body are changed
+    @PatchMapping("{id}")
+    public ResponseEntity<Void> patchEmployee(@PathVariable("id") long employeeId,
+                                              @RequestBody Employee employee){
+        if (employeeService.patchEmployee(employeeId, employee)) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
     }
 
     @DeleteMapping("{id}")
     public ResponseEntity<String> deleteEmployee(@PathVariable("id") long employeeId){
 
-        employeeService.deleteEmployee(employeeId);
+        if (!employeeService.deleteEmployee(employeeId)) {
+            return ResponseEntity.notFound().build();
+        }
 
         return new ResponseEntity<String>("Employee deleted successfully!.", HttpStatus.OK);
 
     }
 
+    // bulk delete in chunked set-based statements: /api/employees?ids=1,2,3 or /api/employees?lastname=Stark
+    @DeleteMapping(params = "ids")
+    public BulkDeleteResult deleteEmployees(@RequestParam("ids") List<Long> ids){
+        return new BulkDeleteResult(employeeService.deleteEmployees(ids));
+    }
+
+    @DeleteMapping(params = "lastname")
+    public BulkDeleteResult deleteEmployeesByLastname(@RequestParam("lastname") String lastname){
+        return new BulkDeleteResult(employeeService.deleteEmployeesByLastname(lastname));
+    }
+
+    private static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    private static String eTag(EmployeeListVersion version) {
+        return "\"" + version.count() + "-" + Long.toHexString(version.idSum()) + "-" + Long.toHexString(version.versionSum()) + "\"";
+    }
+
+    // weak comparison, as If-None-Match asks for
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // null for a missing header or "*"; only a single strong tag can be checked against the version column
+    private static Long ifMatchVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new IllegalArgumentException("Unsupported If-Match: " + ifMatch);
+        }
+        return Long.parseLong(tag.substring(1, tag.length() - 1));
+    }
 }
@@ -0,0 +1,64 @@
+package com.example.spring_boot_testing.controller;
+
+import com.example.spring_boot_testing.dto.EmployeeImportResult;
+import com.example.spring_boot_testing.ingest.EmployeeCsvImporter;
+import com.example.spring_boot_testing.ingest.EmployeeImportRejects;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/employees/import")
+public class EmployeeImportController {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeImportController.class);
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private EmployeeCsvImporter importer;
+    private EmployeeImportRejects rejects;
+
+    public EmployeeImportController(EmployeeCsvImporter importer, EmployeeImportRejects rejects) {
+        this.importer = importer;
+        this.rejects = rejects;
+    }
+
+    // the body is spooled to a temporary file first so the importer can memory-map it
+    @PostMapping(consumes = {"text/csv", "application/octet-stream"})
+    public ResponseEntity<EmployeeImportResult> importEmployees(HttpServletRequest request) throws IOException {
+        Path upload = Files.createTempFile("employees-import-", ".csv");
+        try {
+            Files.copy(request.getInputStream(), upload, StandardCopyOption.REPLACE_EXISTING);
+            EmployeeImportResult result = importer.importFile(upload, progress -> log.info("Importing employees: {}", progress));
+            if (result.rejectFile() == null) {
+                return ResponseEntity.ok(result);
+            }
+            return ResponseEntity.ok(result.withImportId(rejects.register(Path.of(result.rejectFile()))));
+        } catch (IllegalArgumentException e) {
+            // missing or unusable header
+            return ResponseEntity.badRequest().build();
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    @GetMapping("{importId}/rejects")
+    public ResponseEntity<Resource> getRejects(@PathVariable("importId") String importId) {
+        return rejects.find(importId)
+                .<ResponseEntity<Resource>>map(file -> ResponseEntity.ok()
+                        .contentType(TEXT_CSV)
+                        .body(new FileSystemResource(file)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
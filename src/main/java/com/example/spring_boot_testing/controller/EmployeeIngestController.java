@@ -0,0 +1,28 @@
+package com.example.spring_boot_testing.controller;
+
+import com.example.spring_boot_testing.dto.IngestStatus;
+import com.example.spring_boot_testing.ingest.EmployeeIngestQueue;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@Profile("!reactive")
+@ConditionalOnProperty(name = "employee.ingest.mode", havingValue = "async")
+@RequestMapping("/api/employees/ingest")
+public class EmployeeIngestController {
+
+    private EmployeeIngestQueue ingestQueue;
+
+    public EmployeeIngestController(EmployeeIngestQueue ingestQueue) {
+        this.ingestQueue = ingestQueue;
+    }
+
+    @GetMapping("{trackingId}")
+    public ResponseEntity<IngestStatus> getStatus(@PathVariable("trackingId") String trackingId){
+        return ingestQueue.status(trackingId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
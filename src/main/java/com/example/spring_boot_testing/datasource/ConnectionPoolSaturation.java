@@ -0,0 +1,102 @@
+package com.example.spring_boot_testing.datasource;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Tells whether any registered Hikari pool is saturated: too many threads waiting for a connection
+ * right now, or a mean connection acquire time over the last window above the limit. The waiting count
+ * is read live from the pool; the acquire time comes from the hikaricp.connections.acquire timer,
+ * whose cumulative count and total are diffed once per window by whichever caller gets there first.
+ */
+public class ConnectionPoolSaturation {
+
+    public static final String ACQUIRE_TIMER = "hikaricp.connections.acquire";
+
+    public enum Reason {
+        PENDING_ACQUISITIONS,
+        ACQUIRE_TIME
+    }
+
+    private static final class Pool {
+        final Supplier<String> name;
+        final Supplier<HikariPoolMXBean> mxBean;
+        long lastCount;
+        double lastTotalNanos;
+        volatile boolean slow;
+
+        Pool(Supplier<String> name, Supplier<HikariPoolMXBean> mxBean) {
+            this.name = name;
+            this.mxBean = mxBean;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final int maxPendingAcquisitions;
+    private final long maxAcquireNanos;
+    private final long windowNanos;
+    private final List<Pool> pools = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean sampling = new AtomicBoolean();
+    private volatile long lastSampleNanos = System.nanoTime();
+
+    public ConnectionPoolSaturation(MeterRegistry meterRegistry, int maxPendingAcquisitions,
+                                    Duration maxAcquireTime, Duration window) {
+        this.meterRegistry = meterRegistry;
+        this.maxPendingAcquisitions = maxPendingAcquisitions;
+        this.maxAcquireNanos = maxAcquireTime.toNanos();
+        this.windowNanos = window.toNanos();
+    }
+
+    // an unnamed pool gets its name, and every pool its MXBean, only once it starts, so both are looked up late
+    public void register(Supplier<String> poolName, Supplier<HikariPoolMXBean> mxBean) {
+        pools.add(new Pool(poolName, mxBean));
+    }
+
+    public Optional<Reason> overloaded() {
+        long now = System.nanoTime();
+        if (now - lastSampleNanos >= windowNanos && sampling.compareAndSet(false, true)) {
+            try {
+                pools.forEach(this::sample);
+                lastSampleNanos = now;
+            } finally {
+                sampling.set(false);
+            }
+        }
+        for (Pool pool : pools) {
+            HikariPoolMXBean mxBean = pool.mxBean.get();
+            if (mxBean != null && mxBean.getThreadsAwaitingConnection() > maxPendingAcquisitions) {
+                return Optional.of(Reason.PENDING_ACQUISITIONS);
+            }
+        }
+        for (Pool pool : pools) {
+            if (pool.slow) {
+                return Optional.of(Reason.ACQUIRE_TIME);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void sample(Pool pool) {
+        String name = pool.name.get();
+        Timer timer = name == null ? null : meterRegistry.find(ACQUIRE_TIMER).tag("pool", name).timer();
+        if (timer == null) {
+            return;
+        }
+        long count = timer.count();
+        double totalNanos = timer.totalTime(TimeUnit.NANOSECONDS);
+        long acquisitions = count - pool.lastCount;
+        // no acquisitions in the window (e.g. because everything was shed) lets traffic back in to probe
+        pool.slow = acquisitions > 0 && (totalNanos - pool.lastTotalNanos) / acquisitions > maxAcquireNanos;
+        pool.lastCount = count;
+        pool.lastTotalNanos = totalNanos;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.spring_boot_testing.datasource;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+/**
+ * Hibernate dialect for the routed setup: a transaction that {@link ReadWriteRoutingDataSource} sends
+ * to the replica reads the second-level and query caches but never puts into them. The replica may
+ * lag, and a row it returned would otherwise sit in the shared regions and be served to clients that
+ * are pinned to the primary to read their own writes. The route is taken from the transaction's own
+ * read-only flag, which is only the connection it really uses while open-in-view stays off.
+ */
+public class ReplicaCacheModeJpaDialect extends HibernateJpaDialect {
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (ReadWriteRoutingDataSource.routeFor(definition.isReadOnly()) != ReadWriteRoutingDataSource.Route.REPLICA) {
+            return transactionData;
+        }
+        // the session would outlive the transaction with open-in-view, so the previous mode is put back afterwards
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previousCacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        return new ReplicaTransactionData(transactionData, session, previousCacheMode);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReplicaTransactionData replica) {
+            replica.session().setCacheMode(replica.previousCacheMode());
+            super.cleanupTransaction(replica.delegate());
+        } else {
+            super.cleanupTransaction(transactionData);
+        }
+    }
+
+    private record ReplicaTransactionData(Object delegate, Session session, CacheMode previousCacheMode) {
+    }
+}
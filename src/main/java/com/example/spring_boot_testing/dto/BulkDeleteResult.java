@@ -0,0 +1,4 @@
+package com.example.spring_boot_testing.dto;
+
+public record BulkDeleteResult(long deleted) {
+}
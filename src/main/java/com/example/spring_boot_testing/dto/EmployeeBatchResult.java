@@ -0,0 +1,24 @@
+package com.example.spring_boot_testing.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item of a bulk create, {@code index} being its position in the request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeeBatchResult(int index, Status status, Long id, String email, String message) {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
+
+    public static EmployeeBatchResult created(int index, long id, String email) {
+        return new EmployeeBatchResult(index, Status.CREATED, id, email, null);
+    }
+
+    public static EmployeeBatchResult rejected(int index, Status status, String email, String message) {
+        return new EmployeeBatchResult(index, status, null, email, message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.spring_boot_testing.dto;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+public record EmployeeCacheStats(long size, long hits, long misses, long evictions, double hitRate) {
+
+    public static EmployeeCacheStats of(long size, CacheStats stats) {
+        return new EmployeeCacheStats(size, stats.hitCount(), stats.missCount(), stats.evictionCount(), stats.hitRate());
+    }
+}
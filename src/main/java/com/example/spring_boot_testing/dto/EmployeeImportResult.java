@@ -0,0 +1,18 @@
+package com.example.spring_boot_testing.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Totals of a CSV import. The rows that were not inserted are listed with their byte offset and
+ * reason in a reject file, absent when there were none. An import made through the API gives the
+ * {@code importId} to download it with from /api/employees/import/{importId}/rejects, while the
+ * command line import names the local {@code rejectFile}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeeImportResult(long rows, long created, long duplicates, long invalid,
+                                   long elapsedMillis, long rowsPerSecond, String importId, String rejectFile) {
+
+    public EmployeeImportResult withImportId(String importId) {
+        return new EmployeeImportResult(rows, created, duplicates, invalid, elapsedMillis, rowsPerSecond, importId, null);
+    }
+}
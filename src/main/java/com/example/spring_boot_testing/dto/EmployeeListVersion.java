@@ -0,0 +1,5 @@
+package com.example.spring_boot_testing.dto;
+
+// changes whenever a row is inserted, deleted or updated, so it can stand in for the whole list in an ETag
+public record EmployeeListVersion(long count, long idSum, long versionSum) {
+}
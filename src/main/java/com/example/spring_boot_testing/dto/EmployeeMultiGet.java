@@ -0,0 +1,12 @@
+package com.example.spring_boot_testing.dto;
+
+import com.example.spring_boot_testing.model.Employee;
+
+import java.util.List;
+
+/**
+ * Answer to a lookup of many ids: the employees found, in the order their ids were asked for
+ * (repeated ids once), and the ids that do not exist.
+ */
+public record EmployeeMultiGet(List<Employee> employees, List<Long> missing) {
+}
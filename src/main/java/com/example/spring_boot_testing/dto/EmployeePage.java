@@ -0,0 +1,15 @@
+package com.example.spring_boot_testing.dto;
+
+import com.example.spring_boot_testing.model.Employee;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * One keyset page of employees ordered by id. {@code next} is the cursor to pass as
+ * {@code after} for the following page and is null on the last page; {@code total}
+ * is only filled in when the caller asked for it.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeePage(List<Employee> content, Long next, Long total) {
+}
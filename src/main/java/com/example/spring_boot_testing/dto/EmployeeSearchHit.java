@@ -0,0 +1,4 @@
+package com.example.spring_boot_testing.dto;
+
+public record EmployeeSearchHit(long id, String firstname, String lastname, String email, double score) {
+}
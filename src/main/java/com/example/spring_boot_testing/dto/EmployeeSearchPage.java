@@ -0,0 +1,10 @@
+package com.example.spring_boot_testing.dto;
+
+import java.util.List;
+
+/**
+ * One page of search hits, best match first. {@code total} counts every employee that matched, so
+ * the caller can tell how many more pages there are.
+ */
+public record EmployeeSearchPage(List<EmployeeSearchHit> hits, long total) {
+}
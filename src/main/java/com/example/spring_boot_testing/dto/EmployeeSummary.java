@@ -0,0 +1,9 @@
+package com.example.spring_boot_testing.dto;
+
+// interface projection for native queries, which cannot be mapped onto a record constructor
+public interface EmployeeSummary {
+    long getId();
+    String getFirstname();
+    String getLastname();
+    String getEmail();
+}
@@ -0,0 +1,5 @@
+package com.example.spring_boot_testing.dto;
+
+// read-only row for list endpoints: built straight from the result set, never managed or dirty-checked
+public record EmployeeView(long id, String firstname, String lastname, String email) {
+}
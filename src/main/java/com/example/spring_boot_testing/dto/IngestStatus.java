@@ -0,0 +1,30 @@
+package com.example.spring_boot_testing.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Where a queued create stands. {@code id} is set once the employee has been written.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record IngestStatus(String trackingId, State state, Long id, String message) {
+
+    public enum State {
+        QUEUED,
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        FAILED
+    }
+
+    public static IngestStatus queued(String trackingId) {
+        return new IngestStatus(trackingId, State.QUEUED, null, null);
+    }
+
+    public static IngestStatus of(String trackingId, EmployeeBatchResult result) {
+        return new IngestStatus(trackingId, State.valueOf(result.status().name()), result.id(), result.message());
+    }
+
+    public static IngestStatus failed(String trackingId, State state, String message) {
+        return new IngestStatus(trackingId, state, null, message);
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.spring_boot_testing.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events feed of committed employee changes for GET /api/employees/changes. Every
+ * {@link EmployeeChangedEvent} goes into an {@link EmployeeChangeRing} after its transaction commits,
+ * and each subscriber reads the ring at its own pace from a virtual thread of its own, so a write
+ * costs one ring slot and a wake-up per subscriber and never waits for a client.
+ *
+ * <p>Event ids are {@code <instance>:<sequence>}. A client that reconnects with Last-Event-ID gets
+ * everything after that id while it is still in the ring. If it fell further behind, or the id is
+ * from before a restart, it gets a single {@code resync} event instead and the stream ends: the
+ * client reloads GET /api/employees and reconnects with the resync event's id.
+ */
+@Component
+@Profile("!reactive")
+public class EmployeeChangeFeed implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeChangeFeed.class);
+
+    public static final String RESYNC_EVENT = "resync";
+    public static final String RESYNC_COUNTER = "employee.changes.resyncs";
+    public static final String SUBSCRIBERS_GAUGE = "employee.changes.subscribers";
+    private static final int SEND_BATCH = 256;
+
+    private final EmployeeChangeRing ring;
+    // tells ids of this run apart from those handed out before a restart, when the sequence started over
+    private final String instance = Long.toString(System.currentTimeMillis(), 36);
+    private final Duration timeout;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("employee-changes-", 0).factory());
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("employee-changes-heartbeat").daemon().factory());
+    private final Counter resyncs;
+
+    public EmployeeChangeFeed(@Value("${employee.changes.buffer-size:4096}") int bufferSize,
+                              @Value("${employee.changes.timeout:30m}") Duration timeout,
+                              @Value("${employee.changes.heartbeat:15s}") Duration heartbeat,
+                              MeterRegistry meterRegistry) {
+        this.ring = new EmployeeChangeRing(bufferSize);
+        this.timeout = timeout;
+        this.resyncs = Counter.builder(RESYNC_COUNTER)
+                .description("Change feed subscribers told to reload because they fell behind or could not resume")
+                .register(meterRegistry);
+        Gauge.builder(SUBSCRIBERS_GAUGE, subscriptions, Set::size)
+                .description("Open change feed subscriptions")
+                .register(meterRegistry);
+        // also how a client that went away without a word is noticed while nothing changes
+        heartbeats.scheduleWithFixedDelay(() -> subscriptions.forEach(Subscription::heartbeat),
+                heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        ring.publish(event);
+        subscriptions.forEach(Subscription::signal);
+    }
+
+    // without a Last-Event-ID the stream starts with the next change
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        long after = ring.lastSequence();
+        boolean resync = false;
+        if (lastEventId != null) {
+            long resumeAfter = sequenceOf(lastEventId);
+            resync = resumeAfter < 0 || ring.readAfter(resumeAfter, 0) == null;
+            if (!resync) {
+                after = resumeAfter;
+            }
+        }
+        Subscription subscription = new Subscription(emitter, after, resync);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+        subscriptions.add(subscription);
+        subscription.signal();
+        return emitter;
+    }
+
+    @Override
+    public void destroy() {
+        heartbeats.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    private String eventId(long sequence) {
+        return instance + ":" + sequence;
+    }
+
+    // -1 for ids this instance did not hand out
+    private long sequenceOf(String eventId) {
+        int separator = eventId.indexOf(':');
+        if (separator < 0 || !eventId.regionMatches(0, instance, 0, separator) || separator != instance.length()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId, separator + 1, eventId.length(), 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private final class Subscription {
+
+        private final SseEmitter emitter;
+        private final AtomicInteger signals = new AtomicInteger();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        private volatile boolean resync;
+        private volatile boolean closed;
+        private long cursor;
+
+        Subscription(SseEmitter emitter, long cursor, boolean resync) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+            this.resync = resync;
+        }
+
+        void heartbeat() {
+            heartbeatDue.set(true);
+            signal();
+        }
+
+        // at most one drain runs per subscription; a signal during a drain makes it go round once more
+        void signal() {
+            if (!closed && signals.getAndIncrement() == 0) {
+                senders.execute(this::drain);
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscriptions.remove(this);
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                try {
+                    send();
+                } catch (IOException | IllegalStateException e) {
+                    // the client has gone away or the emitter already completed; a failed send has
+                    // completed the emitter with the error already, so completing it again only
+                    // dispatches into a response the container has given up on
+                    log.debug("Dropping change feed subscriber", e);
+                    close();
+                }
+                missed = signals.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void send() throws IOException {
+            if (closed) {
+                return;
+            }
+            boolean sent = false;
+            while (!resync) {
+                List<EmployeeChangeRing.Change> changes = ring.readAfter(cursor, SEND_BATCH);
+                if (changes == null) {
+                    resync = true;
+                } else if (changes.isEmpty()) {
+                    break;
+                } else {
+                    for (EmployeeChangeRing.Change change : changes) {
+                        emitter.send(SseEmitter.event()
+                                .id(eventId(change.sequence()))
+                                .name(change.event().type().name().toLowerCase())
+                                .data(change.event(), MediaType.APPLICATION_JSON));
+                        cursor = change.sequence();
+                    }
+                    sent = true;
+                }
+            }
+            if (resync) {
+                resyncs.increment();
+                close();
+                emitter.send(SseEmitter.event()
+                        .id(eventId(ring.lastSequence()))
+                        .name(RESYNC_EVENT)
+                        .data(Map.of("reload", "/api/employees"), MediaType.APPLICATION_JSON));
+                emitter.complete();
+                return;
+            }
+            if (heartbeatDue.getAndSet(false) && !sent) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+}
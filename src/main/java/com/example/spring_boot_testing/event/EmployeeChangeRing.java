@@ -0,0 +1,72 @@
+package com.example.spring_boot_testing.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring of the most recent employee changes, numbered by a sequence that starts at 1.
+ * Publishing claims the next sequence with one atomic increment and stores into its slot, so writers
+ * never wait for each other or for readers; the oldest change is simply overwritten.
+ *
+ * <p>Each slot remembers the sequence it holds, which is how a reader tells the three cases apart:
+ * the change it wants is there, it is not stored yet (a writer claimed it but has not written it),
+ * or it was already overwritten because the reader fell more than a ring behind.
+ */
+public final class EmployeeChangeRing {
+
+    public record Change(long sequence, EmployeeChangedEvent event) {
+    }
+
+    private final AtomicReferenceArray<Change> slots;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public EmployeeChangeRing(int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public long publish(EmployeeChangedEvent event) {
+        long claimed = sequence.incrementAndGet();
+        slots.set((int) (claimed & mask), new Change(claimed, event));
+        return claimed;
+    }
+
+    // the last sequence handed out; its change may still be on its way into the ring
+    public long lastSequence() {
+        return sequence.get();
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Up to {@code max} changes after {@code after}, in order, stopping at the first one that is not
+     * stored yet. Null when the change right after {@code after} has been overwritten already, or
+     * when {@code after} is a sequence this ring never handed out.
+     */
+    public List<Change> readAfter(long after, int max) {
+        long last = sequence.get();
+        if (after < 0 || after > last || last - after > capacity()) {
+            return null;
+        }
+        List<Change> changes = new ArrayList<>((int) Math.min(max, last - after));
+        for (long next = after + 1; next <= last && changes.size() < max; next++) {
+            Change change = slots.get((int) (next & mask));
+            if (change == null || change.sequence() < next) {
+                break;
+            }
+            if (change.sequence() > next) {
+                return null;
+            }
+            changes.add(change);
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.spring_boot_testing.event;
+
+import com.example.spring_boot_testing.model.Employee;
+
+/**
+ * Published by EmployeeServiceImpl after every write. {@code employee} is the saved state for
+ * CREATED and UPDATED, a PATCH included, and null for DELETED, which is only published for rows
+ * that were actually deleted.
+ */
+public record EmployeeChangedEvent(Type type, long id, Employee employee) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static EmployeeChangedEvent created(Employee employee) {
+        return new EmployeeChangedEvent(Type.CREATED, employee.getId(), employee);
+    }
+
+    public static EmployeeChangedEvent updated(long id, Employee employee) {
+        return new EmployeeChangedEvent(Type.UPDATED, id, employee);
+    }
+
+    public static EmployeeChangedEvent deleted(long id) {
+        return new EmployeeChangedEvent(Type.DELETED, id, null);
+    }
+}
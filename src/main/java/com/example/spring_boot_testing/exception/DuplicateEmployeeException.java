@@ -0,0 +1,16 @@
+package com.example.spring_boot_testing.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class DuplicateEmployeeException extends RuntimeException{
+
+    public DuplicateEmployeeException(String message){
+        super(message);
+    }
+
+    public DuplicateEmployeeException(String message, Throwable cause){
+        super(message, cause);
+    }
+}
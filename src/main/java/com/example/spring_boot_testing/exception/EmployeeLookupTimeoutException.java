@@ -0,0 +1,16 @@
+package com.example.spring_boot_testing.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class EmployeeLookupTimeoutException extends RuntimeException{
+
+    public EmployeeLookupTimeoutException(String message){
+        super(message);
+    }
+
+    public EmployeeLookupTimeoutException(String message, Throwable cause){
+        super(message, cause);
+    }
+}
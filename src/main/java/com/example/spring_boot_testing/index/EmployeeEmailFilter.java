@@ -0,0 +1,124 @@
+package com.example.spring_boot_testing.index;
+
+import com.example.spring_boot_testing.model.Employee;
+import com.example.spring_boot_testing.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory existence filter over the emails of all employees, so that creating an employee with a
+ * brand-new email can skip the duplicate lookup. A negative answer is only a hint: the unique index on
+ * {@code employees.email} stays the source of truth, so a value missed during a concurrent rebuild still
+ * ends up as a clean duplicate error instead of a second row.
+ *
+ * <p>Bloom filters cannot forget values, so deletions are only counted; once they make up a large enough
+ * share of the filter it is rebuilt from the table in the background.
+ */
+@Component
+@Profile("!reactive")
+public class EmployeeEmailFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeEmailFilter.class);
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final EmployeeRepository employeeRepository;
+    private final TaskExecutor taskExecutor;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+    private final double staleRatio;
+
+    // null until the first build has finished; until then every email is reported as possibly present
+    private volatile BloomFilter filter;
+    // receives additions while a rebuild is scanning the table
+    private volatile BloomFilter rebuilding;
+    private final AtomicLong entries = new AtomicLong();
+    private final AtomicLong staleEntries = new AtomicLong();
+    private final AtomicBoolean rebuildRunning = new AtomicBoolean();
+
+    public EmployeeEmailFilter(EmployeeRepository employeeRepository,
+                               @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+                               @Value("${employee.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                               @Value("${employee.email-filter.false-positive-probability:0.01}") double falsePositiveProbability,
+                               @Value("${employee.email-filter.stale-ratio:0.2}") double staleRatio) {
+        this.employeeRepository = employeeRepository;
+        this.taskExecutor = taskExecutor;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.staleRatio = staleRatio;
+    }
+
+    public boolean mightContain(String email) {
+        BloomFilter current = filter;
+        return current == null || current.mightContain(email);
+    }
+
+    public void add(String email) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.add(email);
+        }
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.add(email);
+        }
+        entries.incrementAndGet();
+    }
+
+    public void removed(long count) {
+        if (staleEntries.addAndGet(count) > entries.get() * staleRatio
+                && rebuildRunning.compareAndSet(false, true)) {
+            taskExecutor.execute(this::rebuildOnce);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (rebuildRunning.compareAndSet(false, true)) {
+            rebuildOnce();
+        }
+    }
+
+    private void rebuildOnce() {
+        try {
+            // size for at least twice the current population so the filter does not saturate as the table grows
+            BloomFilter next = new BloomFilter(Math.max(expectedInsertions, entries.get() * 2), falsePositiveProbability);
+            rebuilding = next;
+            long count = 0;
+            long lastId = 0;
+            List<Employee> page;
+            do {
+                page = employeeRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(REBUILD_PAGE_SIZE));
+                for (Employee employee : page) {
+                    next.add(employee.getEmail());
+                    lastId = employee.getId();
+                }
+                count += page.size();
+            } while (page.size() == REBUILD_PAGE_SIZE);
+
+            filter = next;
+            rebuilding = null;
+            entries.set(count);
+            staleEntries.set(0);
+            log.info("Rebuilt employee email filter with {} emails", count);
+        } catch (RuntimeException e) {
+            rebuilding = null;
+            log.warn("Could not rebuild employee email filter", e);
+        } finally {
+            rebuildRunning.set(false);
+        }
+    }
+}
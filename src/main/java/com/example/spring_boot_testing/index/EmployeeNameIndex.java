@@ -0,0 +1,213 @@
+package com.example.spring_boot_testing.index;
+
+import com.example.spring_boot_testing.dto.EmployeeSuggestion;
+import com.example.spring_boot_testing.event.EmployeeChangedEvent;
+import com.example.spring_boot_testing.model.Employee;
+import com.example.spring_boot_testing.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Sorted in-memory index over normalized first names, last names and full names for typeahead.
+ * A prefix query is a range scan over the sorted keys, so it never touches the database and does
+ * not care where in the name the table's LIKE would have needed a wildcard.
+ *
+ * <p>Keys are {@code name + '\0' + id}, which keeps equal names of different employees apart.
+ * The index is built from the table before the web server starts and kept current from
+ * {@link EmployeeChangedEvent}s; changes that commit during the build are replayed after it, so a
+ * row deleted after its page was read does not linger.
+ */
+@Component
+@Profile("!reactive")
+public class EmployeeNameIndex implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeNameIndex.class);
+
+    private static final int BUILD_PAGE_SIZE = 1000;
+    private static final char ID_SEPARATOR = '\0';
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final EmployeeRepository employeeRepository;
+    private final ConcurrentSkipListMap<String, Long> names = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, EmployeeSuggestion> employees = new ConcurrentHashMap<>();
+    private volatile boolean running;
+    // non-null while a build runs; changes that commit meanwhile are replayed over what the pages said
+    private List<EmployeeChangedEvent> changesDuringBuild;
+
+    public EmployeeNameIndex(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    // before the web server, like EmployeeSearchIndex, so typeahead never answers from a partial index
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public void start() {
+        build();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void build() {
+        synchronized (this) {
+            changesDuringBuild = new ArrayList<>();
+        }
+        try {
+            long count = 0;
+            long lastId = 0;
+            List<Employee> page;
+            do {
+                page = employeeRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(BUILD_PAGE_SIZE));
+                for (Employee employee : page) {
+                    put(employee.getId(), employee.getFirstname(), employee.getLastname());
+                    lastId = employee.getId();
+                }
+                count += page.size();
+            } while (page.size() == BUILD_PAGE_SIZE);
+            // a page may have been read before or after a change committed; the change is at least as new
+            synchronized (this) {
+                changesDuringBuild.forEach(this::apply);
+                changesDuringBuild = null;
+            }
+            log.info("Built employee name index with {} employees", count);
+        } finally {
+            synchronized (this) {
+                changesDuringBuild = null;
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        synchronized (this) {
+            if (changesDuringBuild != null) {
+                changesDuringBuild.add(event);
+                return;
+            }
+        }
+        apply(event);
+    }
+
+    private void apply(EmployeeChangedEvent event) {
+        if (event.type() == EmployeeChangedEvent.Type.DELETED) {
+            remove(event.id());
+        } else {
+            put(event.id(), event.employee().getFirstname(), event.employee().getLastname());
+        }
+    }
+
+    // null names keep the indexed value, which is what a PATCH means
+    public void put(long id, String firstname, String lastname) {
+        employees.compute(id, (key, previous) -> {
+            if (previous != null) {
+                removeKeys(previous);
+            }
+            EmployeeSuggestion entry = new EmployeeSuggestion(id,
+                    firstname != null ? firstname : previous != null ? previous.firstname() : null,
+                    lastname != null ? lastname : previous != null ? previous.lastname() : null);
+            addKeys(entry);
+            return entry;
+        });
+    }
+
+    public void remove(long id) {
+        employees.computeIfPresent(id, (key, previous) -> {
+            removeKeys(previous);
+            return null;
+        });
+    }
+
+    public List<EmployeeSuggestion> search(String prefix, int limit) {
+        String normalizedPrefix = normalize(prefix);
+        if (normalizedPrefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        ConcurrentNavigableMap<String, Long> matches =
+                names.subMap(normalizedPrefix, true, normalizedPrefix + Character.MAX_VALUE, false);
+
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Long id : matches.values()) {
+            if (ids.add(id) && ids.size() == limit) {
+                break;
+            }
+        }
+        List<EmployeeSuggestion> suggestions = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            EmployeeSuggestion suggestion = employees.get(id);
+            if (suggestion != null) {
+                suggestions.add(suggestion);
+            }
+        }
+        return suggestions;
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    private void addKeys(EmployeeSuggestion entry) {
+        for (String key : keys(entry)) {
+            names.put(key, entry.id());
+        }
+    }
+
+    private void removeKeys(EmployeeSuggestion entry) {
+        for (String key : keys(entry)) {
+            names.remove(key);
+        }
+    }
+
+    private static List<String> keys(EmployeeSuggestion entry) {
+        String firstname = normalize(entry.firstname());
+        String lastname = normalize(entry.lastname());
+        String suffix = ID_SEPARATOR + Long.toString(entry.id());
+        List<String> keys = new ArrayList<>(3);
+        if (!firstname.isEmpty()) {
+            keys.add(firstname + suffix);
+        }
+        if (!lastname.isEmpty()) {
+            keys.add(lastname + suffix);
+        }
+        if (!firstname.isEmpty() && !lastname.isEmpty()) {
+            keys.add(firstname + ' ' + lastname + suffix);
+        }
+        return keys;
+    }
+
+    static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String withoutAccents = COMBINING_MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(withoutAccents.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
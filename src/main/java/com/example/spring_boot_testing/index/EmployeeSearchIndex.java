@@ -0,0 +1,501 @@
+package com.example.spring_boot_testing.index;
+
+import com.example.spring_boot_testing.dto.EmployeeSearchHit;
+import com.example.spring_boot_testing.dto.EmployeeSearchPage;
+import com.example.spring_boot_testing.event.EmployeeChangedEvent;
+import com.example.spring_boot_testing.model.Employee;
+import com.example.spring_boot_testing.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory full-text index for "find a person" search over first name, last name and email.
+ *
+ * <p>Names and emails are normalized like {@link EmployeeNameIndex} and split into words, and every
+ * word is indexed by its trigrams with a leading {@code $}, so {@code karadag} becomes {@code $ka},
+ * {@code kar}, {@code ara} and so on. The trigrams of a query word find the candidates cheaply; a
+ * candidate matches if one of its words equals the query word, starts with it, or is within one edit
+ * of it (none below three letters, two from eight), which covers typos such as {@code karadga}. Every
+ * query word has to match, and hits are ranked by how close each query word comes: exact beats prefix
+ * beats fuzzy, and names weigh more than the email.
+ *
+ * <p>Each trigram maps to a {@link PostingList} of employee ids. The index is built from the table
+ * before the web server starts, with the pages tokenized and the posting lists encoded on
+ * {@code build-workers} threads, and is kept current from {@link EmployeeChangedEvent}s.
+ */
+@Component
+@Profile("!reactive")
+public class EmployeeSearchIndex implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSearchIndex.class);
+
+    public static final int MAX_LIMIT = 100;
+    private static final int BUILD_PAGE_SIZE = 1000;
+    private static final double EMAIL_WEIGHT = 0.8;
+    private static final Comparator<EmployeeSearchHit> RANKING =
+            Comparator.comparingDouble(EmployeeSearchHit::score).reversed().thenComparingLong(EmployeeSearchHit::id);
+
+    // grams are not kept per document: they are rebuilt from the words when the document changes
+    private record Document(long id, String firstname, String lastname, String email,
+                            List<String> names, List<String> emailWords) {
+
+        Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            names.forEach(word -> grams.addAll(EmployeeSearchIndex.grams(word)));
+            emailWords.forEach(word -> grams.addAll(EmployeeSearchIndex.grams(word)));
+            return grams;
+        }
+    }
+
+    private record Index(ConcurrentHashMap<Long, Document> documents, ConcurrentHashMap<String, PostingList> postings) {
+
+        Index() {
+            this(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+    }
+
+    private final EmployeeRepository employeeRepository;
+    private final int buildWorkers;
+    private volatile Index index = new Index();
+    private volatile boolean running;
+    // non-null while a build runs; changes that commit meanwhile are replayed onto the new index
+    private List<EmployeeChangedEvent> changesDuringBuild;
+
+    public EmployeeSearchIndex(EmployeeRepository employeeRepository,
+                               @Value("${employee.search.build-workers:0}") int buildWorkers) {
+        this.employeeRepository = employeeRepository;
+        this.buildWorkers = buildWorkers > 0 ? buildWorkers : Runtime.getRuntime().availableProcessors();
+    }
+
+    // before the web server, so the first request already searches the whole table
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public void start() {
+        rebuild();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void rebuild() {
+        synchronized (this) {
+            changesDuringBuild = new ArrayList<>();
+        }
+        try {
+            long started = System.nanoTime();
+            Index built = build();
+            synchronized (this) {
+                index = built;
+                changesDuringBuild.forEach(event -> apply(built, event));
+                // cleared under the same lock, or a change arriving before the finally block would be lost
+                changesDuringBuild = null;
+            }
+            log.info("Built employee search index with {} employees and {} terms in {} ms on {} threads",
+                    built.documents().size(), built.postings().size(), (System.nanoTime() - started) / 1_000_000, buildWorkers);
+        } finally {
+            synchronized (this) {
+                changesDuringBuild = null;
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        synchronized (this) {
+            if (changesDuringBuild != null) {
+                changesDuringBuild.add(event);
+                return;
+            }
+        }
+        apply(index, event);
+    }
+
+    public EmployeeSearchPage search(String query, int offset, int limit) {
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(words(query)));
+        int pageSize = Math.min(limit, MAX_LIMIT);
+        if (words.isEmpty() || pageSize <= 0) {
+            return new EmployeeSearchPage(List.of(), 0);
+        }
+        Index current = index;
+
+        long[] candidates = null;
+        for (String word : words) {
+            candidates = matching(current, word, candidates);
+            if (candidates.length == 0) {
+                return new EmployeeSearchPage(List.of(), 0);
+            }
+        }
+        // only the hits up to the end of the requested page are kept, worst on top so it is the one evicted
+        int keep = (int) Math.min((long) Math.max(offset, 0) + pageSize, candidates.length);
+        PriorityQueue<EmployeeSearchHit> top = new PriorityQueue<>(keep + 1, RANKING.reversed());
+        long total = 0;
+        for (long id : candidates) {
+            Document document = current.documents().get(id);
+            double score = document != null ? score(words, document) : 0;
+            if (score > 0) {
+                total++;
+                top.add(new EmployeeSearchHit(id, document.firstname(), document.lastname(), document.email(), score));
+                if (top.size() > keep) {
+                    top.poll();
+                }
+            }
+        }
+        List<EmployeeSearchHit> hits = new ArrayList<>(top);
+        hits.sort(RANKING);
+        int from = Math.min(Math.max(offset, 0), hits.size());
+        return new EmployeeSearchPage(List.copyOf(hits.subList(from, hits.size())), total);
+    }
+
+    public int size() {
+        return index.documents().size();
+    }
+
+    public int termCount() {
+        return index.postings().size();
+    }
+
+    // sorted ids that could match the word, restricted to the previous words' candidates;
+    // an edit changes at most four of the word's trigrams (a swap of neighbours does)
+    private static long[] matching(Index index, String word, long[] within) {
+        Set<String> grams = grams(word);
+        List<long[]> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            PostingList postings = index.postings().get(gram);
+            if (postings != null) {
+                lists.add(within == null ? postings.toArray() : intersect(postings.toArray(), within));
+            }
+        }
+        // per word: a short word has only a few grams and an edit can take most of them, so one shared gram is enough
+        int needed = Math.max(1, grams.size() - 4 * maxEdits(word));
+        if (lists.size() < needed) {
+            return new long[0];
+        }
+        // k-way merge of the sorted lists: the smallest id under the cursors is counted across all of them at once
+        int[] cursors = new int[lists.size()];
+        long[] matches = new long[lists.stream().mapToInt(ids -> ids.length).max().orElse(0)];
+        int size = 0;
+        while (true) {
+            long smallest = Long.MAX_VALUE;
+            for (int i = 0; i < cursors.length; i++) {
+                long[] ids = lists.get(i);
+                if (cursors[i] < ids.length && ids[cursors[i]] < smallest) {
+                    smallest = ids[cursors[i]];
+                }
+            }
+            if (smallest == Long.MAX_VALUE) {
+                return Arrays.copyOf(matches, size);
+            }
+            int count = 0;
+            for (int i = 0; i < cursors.length; i++) {
+                long[] ids = lists.get(i);
+                if (cursors[i] < ids.length && ids[cursors[i]] == smallest) {
+                    cursors[i]++;
+                    count++;
+                }
+            }
+            if (count >= needed) {
+                if (size == matches.length) {
+                    matches = Arrays.copyOf(matches, size * 2 + 1);
+                }
+                matches[size++] = smallest;
+            }
+        }
+    }
+
+    private static long[] intersect(long[] ids, long[] within) {
+        long[] both = new long[Math.min(ids.length, within.length)];
+        int size = 0;
+        for (int i = 0, j = 0; i < ids.length && j < within.length; ) {
+            if (ids[i] < within[j]) {
+                i++;
+            } else if (ids[i] > within[j]) {
+                j++;
+            } else {
+                both[size++] = ids[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(both, size);
+    }
+
+    // 0 unless every query word matches
+    private static double score(List<String> words, Document document) {
+        double score = 0;
+        for (String word : words) {
+            double best = 0;
+            for (String name : document.names()) {
+                best = Math.max(best, similarity(word, name));
+            }
+            for (String emailWord : document.emailWords()) {
+                best = Math.max(best, EMAIL_WEIGHT * similarity(word, emailWord));
+            }
+            if (best == 0) {
+                return 0;
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    // 1 for the same word, 0.7 to 0.9 for a prefix (more the more of the word it covers), up to 0.6 within maxEdits
+    private static double similarity(String queryWord, String word) {
+        if (word.equals(queryWord)) {
+            return 1;
+        }
+        if (word.startsWith(queryWord)) {
+            return 0.7 + 0.2 * queryWord.length() / word.length();
+        }
+        int maxEdits = maxEdits(queryWord);
+        int distance = editDistance(queryWord, word, maxEdits);
+        return distance <= maxEdits ? 0.6 * (1 - (double) distance / Math.max(queryWord.length(), word.length())) : 0;
+    }
+
+    // one letter off a two-letter word matches almost anything, so those only match exactly or as a prefix
+    private static int maxEdits(String queryWord) {
+        return queryWord.length() < 3 ? 0 : queryWord.length() < 8 ? 1 : 2;
+    }
+
+    // insertions, deletions, substitutions and swaps of neighbours; anything above max comes back as max + 1
+    private static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previousRow = new int[b.length() + 1];
+        int[] row = new int[b.length() + 1];
+        int[] nextRow = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            row[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            int[] swap = previousRow;
+            previousRow = row;
+            row = nextRow;
+            nextRow = swap;
+            row[0] = i;
+            int rowMinimum = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int distance = Math.min(Math.min(previousRow[j] + 1, row[j - 1] + 1), previousRow[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    distance = Math.min(distance, nextRow[j - 2] + 1);
+                }
+                row[j] = distance;
+                rowMinimum = Math.min(rowMinimum, distance);
+            }
+            if (rowMinimum > max) {
+                return max + 1;
+            }
+        }
+        return Math.min(row[b.length()], max + 1);
+    }
+
+    private Index build() {
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(buildWorkers,
+                runnable -> new Thread(runnable, "employee-search-build-" + threads.incrementAndGet()));
+        try {
+            // pages come in id order, so concatenating each term's ids page by page keeps them sorted
+            List<Future<PartialIndex>> pages = new ArrayList<>();
+            long lastId = 0;
+            List<Employee> page;
+            do {
+                page = employeeRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(BUILD_PAGE_SIZE));
+                if (!page.isEmpty()) {
+                    List<Employee> employees = page;
+                    pages.add(workers.submit(() -> PartialIndex.of(employees)));
+                    lastId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == BUILD_PAGE_SIZE);
+
+            Index built = new Index();
+            Map<String, List<IdList>> terms = new HashMap<>();
+            for (Future<PartialIndex> partial : pages) {
+                PartialIndex part = partial.get();
+                part.documents().forEach(document -> built.documents().put(document.id(), document));
+                part.postings().forEach((gram, ids) -> terms.computeIfAbsent(gram, key -> new ArrayList<>()).add(ids));
+            }
+
+            List<Map.Entry<String, List<IdList>>> entries = new ArrayList<>(terms.entrySet());
+            List<Future<?>> encoders = new ArrayList<>(buildWorkers);
+            for (int worker = 0; worker < buildWorkers; worker++) {
+                int first = worker;
+                encoders.add(workers.submit(() -> {
+                    for (int i = first; i < entries.size(); i += buildWorkers) {
+                        IdList ids = IdList.concat(entries.get(i).getValue());
+                        built.postings().put(entries.get(i).getKey(), PostingList.of(ids.ids, ids.size));
+                    }
+                }));
+            }
+            for (Future<?> encoder : encoders) {
+                encoder.get();
+            }
+            return built;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building the employee search index", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not build the employee search index", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private static void apply(Index index, EmployeeChangedEvent event) {
+        if (event.type() == EmployeeChangedEvent.Type.DELETED) {
+            index.documents().computeIfPresent(event.id(), (id, previous) -> {
+                previous.grams().forEach(gram -> removePosting(index, gram, id));
+                return null;
+            });
+            return;
+        }
+        Employee employee = event.employee();
+        // per id, so two changes to one employee never interleave their posting updates
+        index.documents().compute(event.id(), (id, previous) -> {
+            // null fields keep the indexed value
+            Document document = document(id,
+                    employee.getFirstname() != null || previous == null ? employee.getFirstname() : previous.firstname(),
+                    employee.getLastname() != null || previous == null ? employee.getLastname() : previous.lastname(),
+                    employee.getEmail() != null || previous == null ? employee.getEmail() : previous.email());
+            Set<String> before = previous != null ? previous.grams() : Set.of();
+            Set<String> after = document.grams();
+            for (String gram : before) {
+                if (!after.contains(gram)) {
+                    removePosting(index, gram, id);
+                }
+            }
+            for (String gram : after) {
+                if (!before.contains(gram)) {
+                    index.postings().compute(gram, (key, postings) ->
+                            (postings != null ? postings : PostingList.EMPTY).with(id));
+                }
+            }
+            return document;
+        });
+    }
+
+    private static void removePosting(Index index, String gram, long id) {
+        index.postings().computeIfPresent(gram, (key, postings) -> {
+            PostingList remaining = postings.without(id);
+            return remaining.isEmpty() ? null : remaining;
+        });
+    }
+
+    private static Document document(long id, String firstname, String lastname, String email) {
+        List<String> names = new ArrayList<>(words(firstname));
+        names.addAll(words(lastname));
+        return new Document(id, firstname, lastname, email, List.copyOf(names), List.copyOf(words(email)));
+    }
+
+    // lower-cased runs of letters and digits; accents are only stripped when there are non-ASCII characters
+    static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String normalized = text.chars().allMatch(c -> c < 0x80) ? text : EmployeeNameIndex.normalize(text);
+        List<String> words = new ArrayList<>(2);
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (!word.isEmpty()) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        if (!word.isEmpty()) {
+            words.add(word.toString());
+        }
+        return words;
+    }
+
+    // '$' and the first letter, so one-letter queries find words too, then the trigrams of '$' + word
+    static Set<String> grams(String word) {
+        String marked = '$' + word;
+        Set<String> grams = new HashSet<>();
+        grams.add(marked.substring(0, 2));
+        for (int i = 0; i + 3 <= marked.length(); i++) {
+            grams.add(marked.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private record PartialIndex(List<Document> documents, Map<String, IdList> postings) {
+
+        static PartialIndex of(List<Employee> employees) {
+            List<Document> documents = new ArrayList<>(employees.size());
+            Map<String, IdList> postings = new HashMap<>();
+            for (Employee employee : employees) {
+                Document document = document(employee.getId(), employee.getFirstname(), employee.getLastname(), employee.getEmail());
+                documents.add(document);
+                for (String gram : document.grams()) {
+                    postings.computeIfAbsent(gram, key -> new IdList(16)).add(document.id());
+                }
+            }
+            return new PartialIndex(documents, postings);
+        }
+    }
+
+    private static final class IdList {
+
+        private long[] ids;
+        private int size;
+
+        IdList(int capacity) {
+            this.ids = new long[capacity];
+        }
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        static IdList concat(List<IdList> parts) {
+            int total = parts.stream().mapToInt(part -> part.size).sum();
+            IdList all = new IdList(total);
+            for (IdList part : parts) {
+                System.arraycopy(part.ids, 0, all.ids, all.size, part.size);
+                all.size += part.size;
+            }
+            return all;
+        }
+    }
+}
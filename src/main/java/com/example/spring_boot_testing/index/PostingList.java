@@ -0,0 +1,145 @@
+package com.example.spring_boot_testing.index;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Immutable ascending list of employee ids for one search term. The ids are stored as the varint
+ * encoded gaps between neighbours, which for dense ids is about one byte each. Adding or removing an
+ * id does not re-encode the list: changes collect in two small sorted arrays next to it and are
+ * folded in once they grow past an eighth of the encoded ids.
+ *
+ * <p>{@link #with} must only be given ids that are not in the list and {@link #without} only ids
+ * that are; the index knows which terms a document had before, so it never needs a lookup.
+ */
+final class PostingList {
+
+    private static final long[] NONE = {};
+    private static final int MIN_PENDING = 32;
+
+    static final PostingList EMPTY = new PostingList(new byte[0], 0, NONE, NONE);
+
+    private final byte[] data;
+    private final int encoded;
+    private final long[] added;
+    private final long[] removed;
+
+    private PostingList(byte[] data, int encoded, long[] added, long[] removed) {
+        this.data = data;
+        this.encoded = encoded;
+        this.added = added;
+        this.removed = removed;
+    }
+
+    // ids must be distinct, positive and ascending
+    static PostingList of(long[] ids, int length) {
+        byte[] buffer = new byte[length * 10];
+        int position = 0;
+        long previous = 0;
+        for (int i = 0; i < length; i++) {
+            long gap = ids[i] - previous;
+            previous = ids[i];
+            while ((gap & ~0x7FL) != 0) {
+                buffer[position++] = (byte) (gap & 0x7F | 0x80);
+                gap >>>= 7;
+            }
+            buffer[position++] = (byte) gap;
+        }
+        return new PostingList(Arrays.copyOf(buffer, position), length, NONE, NONE);
+    }
+
+    PostingList with(long id) {
+        int index = Arrays.binarySearch(removed, id);
+        if (index >= 0) {
+            return compacted(new PostingList(data, encoded, added, delete(removed, index)));
+        }
+        return compacted(new PostingList(data, encoded, insert(added, insertionPoint(added, id), id), removed));
+    }
+
+    PostingList without(long id) {
+        int index = Arrays.binarySearch(added, id);
+        if (index >= 0) {
+            return compacted(new PostingList(data, encoded, delete(added, index), removed));
+        }
+        return compacted(new PostingList(data, encoded, added, insert(removed, insertionPoint(removed, id), id)));
+    }
+
+    int size() {
+        return encoded + added.length - removed.length;
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    int sizeInBytes() {
+        return data.length + (added.length + removed.length) * Long.BYTES;
+    }
+
+    // ascending, the pending changes merged in
+    void forEach(LongConsumer consumer) {
+        int position = 0;
+        long id = 0;
+        int nextAdded = 0;
+        int nextRemoved = 0;
+        for (int i = 0; i < encoded; i++) {
+            long gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                gap |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            id += gap;
+            while (nextAdded < added.length && added[nextAdded] < id) {
+                consumer.accept(added[nextAdded++]);
+            }
+            if (nextRemoved < removed.length && removed[nextRemoved] == id) {
+                nextRemoved++;
+            } else {
+                consumer.accept(id);
+            }
+        }
+        while (nextAdded < added.length) {
+            consumer.accept(added[nextAdded++]);
+        }
+    }
+
+    long[] toArray() {
+        long[] ids = new long[size()];
+        int[] count = {0};
+        forEach(id -> ids[count[0]++] = id);
+        return ids;
+    }
+
+    private static PostingList compacted(PostingList list) {
+        if (list.added.length + list.removed.length <= Math.max(MIN_PENDING, list.encoded >>> 3)) {
+            return list;
+        }
+        long[] ids = list.toArray();
+        return of(ids, ids.length);
+    }
+
+    private static int insertionPoint(long[] ids, long id) {
+        return -Arrays.binarySearch(ids, id) - 1;
+    }
+
+    private static long[] insert(long[] ids, int index, long id) {
+        long[] copy = new long[ids.length + 1];
+        System.arraycopy(ids, 0, copy, 0, index);
+        copy[index] = id;
+        System.arraycopy(ids, index, copy, index + 1, ids.length - index);
+        return copy;
+    }
+
+    private static long[] delete(long[] ids, int index) {
+        if (ids.length == 1) {
+            return NONE;
+        }
+        long[] copy = new long[ids.length - 1];
+        System.arraycopy(ids, 0, copy, 0, index);
+        System.arraycopy(ids, index + 1, copy, index, ids.length - index - 1);
+        return copy;
+    }
+}
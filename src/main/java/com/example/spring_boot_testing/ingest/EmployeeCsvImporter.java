@@ -0,0 +1,275 @@
+package com.example.spring_boot_testing.ingest;
+
+import com.example.spring_boot_testing.dto.EmployeeBatchResult;
+import com.example.spring_boot_testing.dto.EmployeeImportResult;
+import com.example.spring_boot_testing.model.Employee;
+import com.example.spring_boot_testing.service.EmployeeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Imports an employee CSV file as a pipeline: parse-workers each map and parse their own slice of the
+ * file and validate its rows, then hand batches over a bounded queue to a single insert stage. That
+ * stage writes each batch through {@link EmployeeService#saveEmployees}, one transaction with JDBC
+ * batching, which also drops emails that repeat within the batch or already exist, earlier batches
+ * of the same file included. A single inserter keeps two batches from racing on the same email.
+ *
+ * <p>Rows that are not inserted go to a reject file as {@code offset,reason,row}, the original line
+ * copied byte for byte.
+ */
+@Component
+@Profile("!reactive")
+public class EmployeeCsvImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeCsvImporter.class);
+
+    // below this a slice is not worth its own worker
+    private static final long MIN_SLICE = 1024 * 1024;
+    private static final Duration PROGRESS_INTERVAL = Duration.ofSeconds(1);
+    private static final List<ParsedRow> END_OF_SLICE = Collections.unmodifiableList(new ArrayList<>());
+
+    public record Progress(long rows, long created, long rejected, long rowsPerSecond) {
+    }
+
+    private record ParsedRow(Employee employee, long offset, int length) {
+    }
+
+    private final EmployeeService employeeService;
+    private final int parseWorkers;
+    private final int batchSize;
+    private final Path rejectDirectory;
+
+    public EmployeeCsvImporter(EmployeeService employeeService,
+                               @Value("${employee.import.parse-workers:0}") int parseWorkers,
+                               @Value("${employee.import.batch-size:1000}") int batchSize,
+                               @Value("${employee.import.reject-dir:${java.io.tmpdir}}") Path rejectDirectory) {
+        this.employeeService = employeeService;
+        this.parseWorkers = parseWorkers > 0 ? parseWorkers : Runtime.getRuntime().availableProcessors();
+        this.batchSize = batchSize;
+        this.rejectDirectory = rejectDirectory;
+    }
+
+    public EmployeeImportResult importFile(Path file, Consumer<Progress> progress) throws IOException {
+        long started = System.nanoTime();
+        Files.createDirectories(rejectDirectory);
+        Path rejectFile = Files.createTempFile(rejectDirectory, "employees-import-", "-rejects.csv");
+        Counters counters = new Counters();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             Rejects rejects = new Rejects(rejectFile, channel)) {
+            EmployeeCsvParser.Header header = EmployeeCsvParser.readHeader(channel);
+            long[] bounds = slices(channel, header);
+            int workers = bounds.length - 1;
+            BlockingQueue<List<ParsedRow>> batches = new ArrayBlockingQueue<>(workers * 2);
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            AtomicInteger threads = new AtomicInteger();
+            ExecutorService parsers = Executors.newFixedThreadPool(workers,
+                    runnable -> new Thread(runnable, "employee-import-parse-" + threads.incrementAndGet()));
+            try {
+                for (int i = 0; i < workers; i++) {
+                    long from = bounds[i];
+                    long to = bounds[i + 1];
+                    parsers.execute(() -> parseSlice(channel, header, from, to, batches, rejects, counters, failure));
+                }
+                insert(batches, workers, rejects, counters, progress, started);
+            } finally {
+                parsers.shutdownNow();
+            }
+            if (failure.get() != null) {
+                throw new IOException("Could not parse " + file, failure.get());
+            }
+        } catch (IOException | RuntimeException e) {
+            // the batches inserted so far stay committed; nobody gets told where the rejects of a failed import are
+            log.error("Import of {} failed after {}", file, counters.progress(System.nanoTime() - started), e);
+            Files.deleteIfExists(rejectFile);
+            throw e;
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        Progress last = counters.progress(elapsedNanos);
+        progress.accept(last);
+        String rejected = null;
+        if (counters.duplicates.get() + counters.invalid.get() == 0) {
+            Files.deleteIfExists(rejectFile);
+        } else {
+            rejected = rejectFile.toString();
+        }
+        return new EmployeeImportResult(last.rows(), counters.created.get(), counters.duplicates.get(),
+                counters.invalid.get(), elapsedNanos / 1_000_000, last.rowsPerSecond(), null, rejected);
+    }
+
+    private long[] slices(FileChannel channel, EmployeeCsvParser.Header header) throws IOException {
+        long size = channel.size();
+        long data = size - header.dataStart();
+        int workers = (int) Math.max(1, Math.min(parseWorkers, data / MIN_SLICE));
+        long[] bounds = new long[workers + 1];
+        bounds[0] = header.dataStart();
+        for (int i = 1; i < workers; i++) {
+            bounds[i] = EmployeeCsvParser.nextLineStart(channel, header.dataStart() + data * i / workers, header.dataStart());
+        }
+        bounds[workers] = size;
+        return bounds;
+    }
+
+    private void parseSlice(FileChannel channel, EmployeeCsvParser.Header header, long from, long to,
+                            BlockingQueue<List<ParsedRow>> batches, Rejects rejects, Counters counters,
+                            AtomicReference<Throwable> failure) {
+        List<List<ParsedRow>> pending = new ArrayList<>(1);
+        pending.add(new ArrayList<>(batchSize));
+        try {
+            new EmployeeCsvParser(header).parse(channel, from, to, new EmployeeCsvParser.Sink() {
+                @Override
+                public void row(Employee employee, long offset, int length) {
+                    List<ParsedRow> batch = pending.get(0);
+                    batch.add(new ParsedRow(employee, offset, length));
+                    if (batch.size() == batchSize) {
+                        put(batches, batch);
+                        pending.set(0, new ArrayList<>(batchSize));
+                    }
+                }
+
+                @Override
+                public void reject(long offset, int length, EmployeeCsvParser.Reject reason) {
+                    counters.invalid.incrementAndGet();
+                    rejects.write(offset, length, reason);
+                }
+            });
+            if (!pending.get(0).isEmpty()) {
+                put(batches, pending.get(0));
+            }
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            try {
+                batches.put(END_OF_SLICE);
+            } catch (InterruptedException e) {
+                // the insert stage has given up and no longer reads the queue
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void put(BlockingQueue<List<ParsedRow>> batches, List<ParsedRow> batch) {
+        try {
+            batches.put(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import cancelled", e);
+        }
+    }
+
+    private void insert(BlockingQueue<List<ParsedRow>> batches, int workers, Rejects rejects, Counters counters,
+                        Consumer<Progress> progress, long started) throws IOException {
+        long nextProgress = System.nanoTime() + PROGRESS_INTERVAL.toNanos();
+        int finished = 0;
+        while (finished < workers) {
+            List<ParsedRow> batch;
+            try {
+                batch = batches.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Import interrupted");
+            }
+            if (batch == END_OF_SLICE) {
+                finished++;
+                continue;
+            }
+            // an email that races the batch is already retried row by row inside saveEmployees
+            List<EmployeeBatchResult> results = employeeService.saveEmployees(batch.stream().map(ParsedRow::employee).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                EmployeeBatchResult result = results.get(i);
+                ParsedRow row = batch.get(i);
+                switch (result.status()) {
+                    case CREATED -> counters.created.incrementAndGet();
+                    case DUPLICATE -> {
+                        counters.duplicates.incrementAndGet();
+                        rejects.write(row.offset(), row.length(), EmployeeCsvParser.Reject.DUPLICATE);
+                    }
+                    case INVALID -> {
+                        counters.invalid.incrementAndGet();
+                        rejects.write(row.offset(), row.length(), EmployeeCsvParser.Reject.MISSING_FIELD);
+                    }
+                }
+            }
+            long now = System.nanoTime();
+            if (now >= nextProgress) {
+                progress.accept(counters.progress(now - started));
+                nextProgress = now + PROGRESS_INTERVAL.toNanos();
+            }
+        }
+    }
+
+    private static final class Counters {
+        final AtomicLong created = new AtomicLong();
+        final AtomicLong duplicates = new AtomicLong();
+        final AtomicLong invalid = new AtomicLong();
+
+        Progress progress(long elapsedNanos) {
+            long rejected = duplicates.get() + invalid.get();
+            long rows = created.get() + rejected;
+            return new Progress(rows, created.get(), rejected, (long) (rows / Math.max(elapsedNanos / 1e9, 1e-3)));
+        }
+    }
+
+    // rejected lines are copied from the file itself, so no row has to be kept around as text
+    private static final class Rejects implements Closeable {
+
+        private final OutputStream out;
+        private final FileChannel source;
+        private final ByteBuffer line = ByteBuffer.allocate(EmployeeCsvParser.MAX_LINE);
+
+        Rejects(Path file, FileChannel source) throws IOException {
+            this.out = new BufferedOutputStream(Files.newOutputStream(file));
+            this.source = source;
+            out.write("offset,reason,row\n".getBytes(StandardCharsets.US_ASCII));
+        }
+
+        synchronized void write(long offset, int length, EmployeeCsvParser.Reject reason) {
+            try {
+                out.write((offset + "," + reason + ",").getBytes(StandardCharsets.US_ASCII));
+                line.clear().limit(Math.min(length, line.capacity()));
+                source.read(line, offset);
+                int end = line.position();
+                while (end > 0 && (line.get(end - 1) == '\n' || line.get(end - 1) == '\r')) {
+                    end--;
+                }
+                out.write(line.array(), 0, end);
+                out.write('\n');
+            } catch (IOException e) {
+                log.warn("Could not write rejected row at offset {}", offset, e);
+            }
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.spring_boot_testing.ingest;
+
+import com.example.spring_boot_testing.model.Employee;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses a byte range of an employee CSV file straight out of memory-mapped windows. A line is never
+ * turned into a String: its fields are unquoted into a reusable scratch array and only the three values
+ * an Employee needs are decoded. One record per line; quoted fields may contain commas and doubled
+ * quotes but not line breaks. Not thread-safe, so each parse worker has its own instance.
+ */
+final class EmployeeCsvParser {
+
+    static final int MAX_LINE = 64 * 1024;
+    static final int MAX_FIELD = 255;
+    private static final long WINDOW = 64L * 1024 * 1024;
+
+    enum Reject {
+        MALFORMED,
+        MISSING_FIELD,
+        TOO_LONG,
+        INVALID_EMAIL,
+        DUPLICATE,
+        FAILED
+    }
+
+    interface Sink {
+        void row(Employee employee, long offset, int length);
+
+        void reject(long offset, int length, Reject reason);
+    }
+
+    record Header(int columns, int firstname, int lastname, int email, long dataStart) {
+    }
+
+    private final Header header;
+    private final byte[] scratch = new byte[MAX_LINE];
+    private final int[] fieldStart;
+    private final int[] fieldEnd;
+
+    EmployeeCsvParser(Header header) {
+        this.header = header;
+        this.fieldStart = new int[header.columns()];
+        this.fieldEnd = new int[header.columns()];
+    }
+
+    // columns are matched by name, so their order in the file does not matter
+    static Header readHeader(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(MAX_LINE, channel.size()));
+        channel.read(buffer, 0);
+        buffer.flip();
+        int end = 0;
+        while (end < buffer.limit() && buffer.get(end) != '\n') {
+            end++;
+        }
+        if (end == buffer.limit() && buffer.limit() < channel.size()) {
+            throw new IllegalArgumentException("CSV header line is longer than " + MAX_LINE + " bytes");
+        }
+        String line = new String(buffer.array(), 0, end, StandardCharsets.UTF_8).replace("\uFEFF", "").strip();
+        String[] names = line.split(",");
+        int firstname = -1;
+        int lastname = -1;
+        int email = -1;
+        for (int i = 0; i < names.length; i++) {
+            switch (names[i].strip().replace("\"", "").toLowerCase()) {
+                case "firstname", "first_name" -> firstname = i;
+                case "lastname", "last_name" -> lastname = i;
+                case "email" -> email = i;
+                default -> {
+                }
+            }
+        }
+        if (firstname < 0 || lastname < 0 || email < 0) {
+            throw new IllegalArgumentException("CSV header must name firstname, lastname and email columns");
+        }
+        return new Header(names.length, firstname, lastname, email, Math.min(end + 1, channel.size()));
+    }
+
+    // the first line start at or after position, so parallel ranges split on line boundaries
+    static long nextLineStart(FileChannel channel, long position, long dataStart) throws IOException {
+        if (position <= dataStart) {
+            return dataStart;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long scan = position - 1;
+        long size = channel.size();
+        while (scan < size) {
+            buffer.clear();
+            int read = channel.read(buffer, scan);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return scan + i + 1;
+                }
+            }
+            scan += read;
+        }
+        return size;
+    }
+
+    void parse(FileChannel channel, long from, long to, Sink sink) throws IOException {
+        long windowStart = from;
+        while (windowStart < to) {
+            int windowLength = (int) Math.min(WINDOW, to - windowStart);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowLength);
+            boolean lastWindow = windowStart + windowLength == to;
+            int lineStart = 0;
+            for (int i = 0; i < windowLength; i++) {
+                if (window.get(i) == '\n') {
+                    line(window, lineStart, i, windowStart, sink);
+                    lineStart = i + 1;
+                }
+            }
+            if (lineStart < windowLength && lastWindow) {
+                line(window, lineStart, windowLength, windowStart, sink);
+                lineStart = windowLength;
+            } else if (lineStart == 0) {
+                throw new IOException("Line at offset " + windowStart + " does not fit in a " + WINDOW + " byte window");
+            }
+            // an unfinished last line is parsed again at the start of the next window
+            windowStart += lineStart;
+        }
+    }
+
+    private void line(ByteBuffer buffer, int start, int end, long base, Sink sink) {
+        long offset = base + start;
+        int length = end - start;
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        if (end == start) {
+            return;
+        }
+        if (length > MAX_LINE) {
+            sink.reject(offset, length, Reject.MALFORMED);
+            return;
+        }
+        int column = 0;
+        int out = 0;
+        int i = start;
+        while (true) {
+            if (column == header.columns()) {
+                sink.reject(offset, length, Reject.MALFORMED);
+                return;
+            }
+            fieldStart[column] = out;
+            if (i < end && buffer.get(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= end) {
+                        sink.reject(offset, length, Reject.MALFORMED);
+                        return;
+                    }
+                    byte b = buffer.get(i++);
+                    if (b != '"') {
+                        scratch[out++] = b;
+                    } else if (i < end && buffer.get(i) == '"') {
+                        scratch[out++] = '"';
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                if (i < end && buffer.get(i) != ',') {
+                    sink.reject(offset, length, Reject.MALFORMED);
+                    return;
+                }
+            } else {
+                while (i < end && buffer.get(i) != ',') {
+                    scratch[out++] = buffer.get(i++);
+                }
+            }
+            fieldEnd[column++] = out;
+            if (i >= end) {
+                break;
+            }
+            // skip the comma; a trailing one still yields an empty last field
+            i++;
+        }
+        if (column != header.columns()) {
+            sink.reject(offset, length, Reject.MALFORMED);
+            return;
+        }
+
+        String firstname = field(header.firstname());
+        String lastname = field(header.lastname());
+        String email = field(header.email());
+        if (firstname == null || lastname == null || email == null) {
+            sink.reject(offset, length, Reject.MISSING_FIELD);
+        } else if (firstname.length() > MAX_FIELD || lastname.length() > MAX_FIELD || email.length() > MAX_FIELD) {
+            sink.reject(offset, length, Reject.TOO_LONG);
+        } else if (!isEmail(header.email())) {
+            sink.reject(offset, length, Reject.INVALID_EMAIL);
+        } else {
+            sink.row(Employee.builder().firstname(firstname).lastname(lastname).email(email).build(), offset, length);
+        }
+    }
+
+    // null for an empty or blank field
+    private String field(int column) {
+        int from = fieldStart[column];
+        int to = fieldEnd[column];
+        while (from < to && isBlank(scratch[from])) {
+            from++;
+        }
+        while (to > from && isBlank(scratch[to - 1])) {
+            to--;
+        }
+        fieldStart[column] = from;
+        fieldEnd[column] = to;
+        return from == to ? null : new String(scratch, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    // one '@' with something on both sides and no whitespace; the rest is left to the mail server
+    private boolean isEmail(int column) {
+        int at = -1;
+        for (int i = fieldStart[column]; i < fieldEnd[column]; i++) {
+            byte b = scratch[i];
+            if (b == '@') {
+                if (at >= 0) {
+                    return false;
+                }
+                at = i;
+            } else if (b <= ' ') {
+                return false;
+            }
+        }
+        return at > fieldStart[column] && at < fieldEnd[column] - 1;
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t';
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.spring_boot_testing.ingest;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reject files of imports made through the API. The path only means something on the server, so the
+ * client gets an import id to download the file with instead, and the file is deleted once it has
+ * been kept for {@code rejects-ttl} or the application shuts down.
+ */
+@Component
+@Profile("!reactive")
+public class EmployeeImportRejects {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeImportRejects.class);
+
+    private final Cache<String, Path> files;
+
+    public EmployeeImportRejects(@Value("${employee.import.rejects-ttl:1h}") Duration ttl) {
+        // the system scheduler expires entries on time, not only when the cache happens to be touched
+        this.files = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .scheduler(Scheduler.systemScheduler())
+                .<String, Path>evictionListener((importId, file, cause) -> delete(file))
+                .build();
+    }
+
+    public String register(Path file) {
+        String importId = UUID.randomUUID().toString();
+        files.put(importId, file);
+        return importId;
+    }
+
+    public Optional<Path> find(String importId) {
+        return Optional.ofNullable(files.getIfPresent(importId)).filter(Files::isReadable);
+    }
+
+    @PreDestroy
+    public void clear() {
+        files.asMap().values().forEach(EmployeeImportRejects::delete);
+        files.invalidateAll();
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import reject file {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.spring_boot_testing.ingest;
+
+import com.example.spring_boot_testing.dto.EmployeeBatchResult;
+import com.example.spring_boot_testing.dto.IngestStatus;
+import com.example.spring_boot_testing.exception.DuplicateEmployeeException;
+import com.example.spring_boot_testing.model.Employee;
+import com.example.spring_boot_testing.service.EmployeeService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind path for POST /api/employees when {@code employee.ingest.mode=async}. Requests are
+ * parked in a bounded queue and a single writer thread drains it into {@link EmployeeService#saveEmployees},
+ * so each transaction inserts up to {@code batch-size} rows with JDBC batching. A full queue is
+ * reported to the caller instead of growing, and the outcome of every request can be looked up by
+ * its tracking id for {@code status-ttl}.
+ *
+ * <p>The lifecycle phase is below the web server's, so on shutdown the server stops taking requests
+ * first and the queue is then drained before the connection pool goes away.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(name = "employee.ingest.mode", havingValue = "async")
+public class EmployeeIngestQueue implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeIngestQueue.class);
+
+    static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+    private static final long POLL_MILLIS = 100;
+
+    private record Pending(String trackingId, Employee employee) {
+    }
+
+    private final EmployeeService employeeService;
+    private final BlockingQueue<Pending> queue;
+    private final int batchSize;
+    private final Cache<String, IngestStatus> statuses;
+
+    // held while offering and while stopping, so nothing is queued after the writer has seen the last of it
+    private final Object submitLock = new Object();
+    private volatile boolean running;
+    private volatile Runnable onDrained;
+    private Thread writer;
+
+    public EmployeeIngestQueue(EmployeeService employeeService,
+                               @Value("${employee.ingest.queue-capacity:10000}") int queueCapacity,
+                               @Value("${employee.ingest.batch-size:500}") int batchSize,
+                               @Value("${employee.ingest.status-ttl:10m}") Duration statusTtl) {
+        this.employeeService = employeeService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.statuses = Caffeine.newBuilder().expireAfterWrite(statusTtl).build();
+    }
+
+    // null when the employee can be queued; checked up front so the client hears about it synchronously
+    public static String validate(Employee employee) {
+        if (employee.getEmail() == null || employee.getFirstname() == null || employee.getLastname() == null) {
+            return "firstname, lastname and email are required";
+        }
+        return null;
+    }
+
+    // empty when the queue is full (or shutting down) and the caller should back off
+    public Optional<IngestStatus> submit(Employee employee) {
+        IngestStatus status = IngestStatus.queued(UUID.randomUUID().toString());
+        synchronized (submitLock) {
+            if (!running) {
+                return Optional.empty();
+            }
+            statuses.put(status.trackingId(), status);
+            if (!queue.offer(new Pending(status.trackingId(), employee))) {
+                statuses.invalidate(status.trackingId());
+                return Optional.empty();
+            }
+        }
+        return Optional.of(status);
+    }
+
+    public Optional<IngestStatus> status(String trackingId) {
+        return Optional.ofNullable(statuses.getIfPresent(trackingId));
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("employee-ingest").start(this::drain);
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        onDrained = callback;
+        halt();
+    }
+
+    @Override
+    public void stop() {
+        halt();
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void halt() {
+        synchronized (submitLock) {
+            running = false;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        // keeps going after stop until everything accepted so far is written
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Employee ingest writer interrupted with {} requests still queued", queue.size());
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+        // only left behind by an interrupt; they still get a final state for their clients to see
+        halt();
+        List<Pending> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(pending -> statuses.put(pending.trackingId(), IngestStatus.failed(pending.trackingId(),
+                IngestStatus.State.FAILED, "Shut down before the employee was written")));
+        Runnable callback = onDrained;
+        if (callback != null) {
+            callback.run();
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        List<Employee> employees = batch.stream().map(Pending::employee).toList();
+        List<EmployeeBatchResult> results;
+        try {
+            results = employeeService.saveEmployees(employees);
+        } catch (RuntimeException e) {
+            // one bad row rolls back the whole batch; redo it row by row so only that row fails
+            log.warn("Batch of {} queued employees failed, retrying one by one", batch.size(), e);
+            batch.forEach(this::writeOne);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            String trackingId = batch.get(i).trackingId();
+            statuses.put(trackingId, IngestStatus.of(trackingId, results.get(i)));
+        }
+    }
+
+    private void writeOne(Pending pending) {
+        IngestStatus status;
+        try {
+            Employee saved = employeeService.saveEmployee(pending.employee());
+            status = new IngestStatus(pending.trackingId(), IngestStatus.State.CREATED, saved.getId(), null);
+        } catch (DuplicateEmployeeException e) {
+            status = IngestStatus.failed(pending.trackingId(), IngestStatus.State.DUPLICATE, e.getMessage());
+        } catch (RuntimeException e) {
+            status = IngestStatus.failed(pending.trackingId(), IngestStatus.State.FAILED, e.getMessage());
+        }
+        statuses.put(pending.trackingId(), status);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.spring_boot_testing.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every EmployeeService method and every EmployeeRepository query. Each operation gets a
+ * success and an error timer with a percentile histogram, registered once and then looked up by
+ * method, so the per-call cost is a map lookup and two clock reads.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "employee.metrics.enabled", matchIfMissing = true)
+public class EmployeeMetricsAspect {
+
+    static final String SERVICE_TIMER = "employee.service";
+    static final String REPOSITORY_TIMER = "employee.repository";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<Method, OperationTimers> timers = new ConcurrentHashMap<>();
+
+    public EmployeeMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* com.example.spring_boot_testing.service.EmployeeService+.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record(SERVICE_TIMER, joinPoint);
+    }
+
+    @Around("execution(* com.example.spring_boot_testing.repository.EmployeeRepository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record(REPOSITORY_TIMER, joinPoint);
+    }
+
+    private Object record(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        OperationTimers operationTimers = timers.get(method);
+        if (operationTimers == null) {
+            operationTimers = timers.computeIfAbsent(method, key -> OperationTimers.register(meterRegistry, name, key.getName()));
+        }
+
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            operationTimers.success().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            operationTimers.error().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private record OperationTimers(Timer success, Timer error) {
+
+        static OperationTimers register(MeterRegistry meterRegistry, String name, String operation) {
+            return new OperationTimers(timer(meterRegistry, name, operation, "success"),
+                    timer(meterRegistry, name, operation, "error"));
+        }
+
+        private static Timer timer(MeterRegistry meterRegistry, String name, String operation, String outcome) {
+            return Timer.builder(name)
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+    }
+}
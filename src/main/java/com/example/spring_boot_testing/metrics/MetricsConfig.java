@@ -0,0 +1,15 @@
+package com.example.spring_boot_testing.metrics;
+
+import com.example.spring_boot_testing.cache.EmployeeCache;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder employeeCacheMetrics(EmployeeCache employeeCache) {
+        return employeeCache::bindTo;
+    }
+}
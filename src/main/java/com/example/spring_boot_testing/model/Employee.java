@@ -2,17 +2,34 @@ package com.example.spring_boot_testing.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 @Entity
-@Table(name = "employees")
+// second-level cache region; sized in hibernate-cache.conf
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Employee.CACHE_REGION)
+@Table(name = "employees",
+        uniqueConstraints = @UniqueConstraint(name = "uk_employees_email", columnNames = "email"),
+        indexes = {
+                @Index(name = "idx_employees_last_name", columnList = "last_name"),
+                @Index(name = "idx_employees_first_name", columnList = "first_name")
+        })
 public class Employee {
+
+    public static final String CACHE_REGION = "employees";
+    public static final String QUERY_CACHE_REGION = "employee-queries";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // pooled sequence instead of IDENTITY so Hibernate can batch inserts; databases created with IDENTITY ids
+    // need db/upgrade/mysql/employees_seq.sql first
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = 50)
     private long id;
     @Column(name = "first_name", nullable = false)
     private String firstname;
@@ -20,5 +37,9 @@ public class Employee {
     private String lastname;
     @Column(nullable = false)
     private String email;
+    // bumped on every update; doubles as the ETag and guards PUT against lost updates
+    @Version
+    @Column(nullable = false)
+    private long version;
 
 }
@@ -0,0 +1,32 @@
+package com.example.spring_boot_testing.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * R2DBC mapping of the {@code employees} table used by the reactive profile. Immutable, so every
+ * save returns a new row; a null version marks a row that has not been inserted yet.
+ */
+@Table("employees")
+public record EmployeeRow(@Id Long id,
+                          @Column("first_name") String firstname,
+                          @Column("last_name") String lastname,
+                          String email,
+                          @Version Long version) {
+
+    public Employee toEmployee() {
+        return Employee.builder()
+                .id(id)
+                .firstname(firstname)
+                .lastname(lastname)
+                .email(email)
+                .version(version)
+                .build();
+    }
+
+    public EmployeeRow withNames(Employee employee) {
+        return new EmployeeRow(id, employee.getFirstname(), employee.getLastname(), employee.getEmail(), version);
+    }
+}
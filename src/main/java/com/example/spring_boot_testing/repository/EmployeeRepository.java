@@ -1,24 +1,107 @@
 package com.example.spring_boot_testing.repository;
 
+import com.example.spring_boot_testing.dto.EmployeeListVersion;
+import com.example.spring_boot_testing.dto.EmployeeSummary;
+import com.example.spring_boot_testing.dto.EmployeeView;
 import com.example.spring_boot_testing.model.Employee;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+    // query cache: results are kept as ids and resolved through the entity region; any write to
+    // the employees table, bulk JPQL included, invalidates them via the update-timestamps region
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Employee.QUERY_CACHE_REGION)})
     Optional<Employee> findByEmail(String email);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Employee.QUERY_CACHE_REGION)})
     List<Employee> findByLastnameLike(String lastNamePattern);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Employee.QUERY_CACHE_REGION)})
     List<Employee> findByFirstname(String firstNamePattern);
 
     @Query(value = "SELECT * FROM employees e WHERE e.last_name = :lastName", nativeQuery = true)
     List<Employee> findEmployeesByLastNameWithNativeQuery(@Param("lastName") String lastName);
 
+    // keyset pagination: seeks past the cursor on the primary key, so every page costs the same
+    List<Employee> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    // single UPDATE that only touches the supplied (non-null) fields; returns the number of rows changed
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Employee e SET e.firstname = COALESCE(:firstname, e.firstname), " +
+            "e.lastname = COALESCE(:lastname, e.lastname), e.email = COALESCE(:email, e.email), " +
+            "e.version = e.version + 1 WHERE e.id = :id")
+    int patchById(@Param("id") long id, @Param("firstname") String firstname,
+                  @Param("lastname") String lastname, @Param("email") String email);
+
+    // deletes without loading the entity first
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Employee e WHERE e.id = :id")
+    int deleteEmployeeById(@Param("id") long id);
+
+    // the ids that exist, locked until the end of the caller's transaction so nobody else can delete them first
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e.id FROM Employee e WHERE e.id IN :ids ORDER BY e.id")
+    List<Long> lockExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Employee e WHERE e.id IN :ids")
+    int deleteEmployeesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT e.version FROM Employee e WHERE e.id = :id")
+    Optional<Long> findVersionById(@Param("id") long id);
+
+    // one aggregate row instead of the whole table; cheap enough to compute on every conditional list request
+    @Query("SELECT new com.example.spring_boot_testing.dto.EmployeeListVersion(" +
+            "COUNT(e), COALESCE(SUM(e.id), 0), COALESCE(SUM(e.version), 0)) FROM Employee e")
+    EmployeeListVersion findListVersion();
+
+    @Query("SELECT e.id FROM Employee e WHERE e.lastname = :lastname ORDER BY e.id")
+    List<Long> findIdsByLastname(@Param("lastname") String lastname, Limit limit);
+
+    @Query("SELECT e.email FROM Employee e WHERE e.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // must be consumed inside a transaction and closed; the fetch size keeps the driver from buffering the whole result
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT e FROM Employee e ORDER BY e.id")
+    Stream<Employee> streamAllOrderedById();
+
+    // projections below skip entity instantiation and the dirty-checking snapshot
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT new com.example.spring_boot_testing.dto.EmployeeView(e.id, e.firstname, e.lastname, e.email) " +
+            "FROM Employee e ORDER BY e.id")
+    List<EmployeeView> findAllViews();
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<EmployeeView> findViewsByLastnameLike(String lastNamePattern);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<EmployeeView> findViewsByFirstname(String firstName);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT e.id AS id, e.first_name AS firstname, e.last_name AS lastname, e.email AS email " +
+            "FROM employees e WHERE e.last_name = :lastName", nativeQuery = true)
+    List<EmployeeSummary> findSummariesByLastNameWithNativeQuery(@Param("lastName") String lastName);
 }
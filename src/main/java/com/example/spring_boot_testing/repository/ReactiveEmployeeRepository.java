@@ -0,0 +1,26 @@
+package com.example.spring_boot_testing.repository;
+
+import com.example.spring_boot_testing.model.EmployeeRow;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveEmployeeRepository extends R2dbcRepository<EmployeeRow, Long> {
+
+    // rows are emitted as the subscriber requests them, so a slow client throttles the read
+    Flux<EmployeeRow> findAllByOrderByIdAsc();
+
+    Mono<Boolean> existsByEmail(String email);
+
+    // shared with Hibernate's pooled generator on Employee; see PooledSequenceIdAllocator
+    @Query("SELECT NEXT VALUE FOR employees_seq")
+    Mono<Long> nextSequenceValue();
+
+    @Modifying
+    @Query("DELETE FROM employees WHERE id = :id")
+    Mono<Long> deleteEmployeeById(long id);
+}
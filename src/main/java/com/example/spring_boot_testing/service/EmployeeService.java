@@ -1,14 +1,36 @@
 package com.example.spring_boot_testing.service;
 
+import com.example.spring_boot_testing.dto.EmployeeBatchResult;
+import com.example.spring_boot_testing.dto.EmployeeListVersion;
+import com.example.spring_boot_testing.dto.EmployeeMultiGet;
+import com.example.spring_boot_testing.dto.EmployeePage;
+import com.example.spring_boot_testing.dto.EmployeeSearchPage;
+import com.example.spring_boot_testing.dto.EmployeeSuggestion;
+import com.example.spring_boot_testing.dto.EmployeeView;
 import com.example.spring_boot_testing.model.Employee;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
     Employee saveEmployee(Employee employee);
+    List<EmployeeBatchResult> saveEmployees(List<Employee> employees);
     List<Employee> getAllEmployees();
+    List<EmployeeView> getAllEmployeeViews();
+    List<EmployeeView> getEmployeeViewsByLastname(String lastNamePattern);
+    List<EmployeeView> getEmployeeViewsByFirstname(String firstName);
+    EmployeePage getEmployeesPage(long afterId, int size, boolean withTotal);
+    void exportEmployees(Consumer<Employee> consumer);
+    List<EmployeeSuggestion> suggestEmployees(String prefix, int limit);
+    EmployeeSearchPage searchEmployees(String query, int offset, int limit);
     Optional<Employee> getEmployeeById(long id);
+    EmployeeMultiGet getEmployeesByIds(List<Long> ids);
+    Optional<Long> getEmployeeVersion(long id);
+    EmployeeListVersion getEmployeesVersion();
     Employee updateEmployee(Employee updatedEmployee);
-    void deleteEmployee(long id);
+    boolean patchEmployee(long id, Employee patch);
+    boolean deleteEmployee(long id);
+    long deleteEmployees(List<Long> ids);
+    long deleteEmployeesByLastname(String lastname);
 }
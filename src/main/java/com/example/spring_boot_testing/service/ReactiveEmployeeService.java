@@ -0,0 +1,13 @@
+package com.example.spring_boot_testing.service;
+
+import com.example.spring_boot_testing.model.Employee;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveEmployeeService {
+    Mono<Employee> saveEmployee(Employee employee);
+    Flux<Employee> getAllEmployees();
+    Mono<Employee> getEmployeeById(long id);
+    Mono<Employee> updateEmployee(long id, Employee updatedEmployee);
+    Mono<Boolean> deleteEmployee(long id);
+}
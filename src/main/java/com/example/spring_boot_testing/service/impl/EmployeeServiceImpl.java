@@ -1,51 +1,435 @@
 package com.example.spring_boot_testing.service.impl;
 
 
-import com.example.spring_boot_testing.exception.ResourceNotFoundException;
+import com.example.spring_boot_testing.cache.EmployeeCache;
+import com.example.spring_boot_testing.dto.EmployeeBatchResult;
+import com.example.spring_boot_testing.dto.EmployeeListVersion;
+import com.example.spring_boot_testing.dto.EmployeeMultiGet;
+import com.example.spring_boot_testing.dto.EmployeePage;
+import com.example.spring_boot_testing.dto.EmployeeSearchPage;
+import com.example.spring_boot_testing.dto.EmployeeSuggestion;
+import com.example.spring_boot_testing.dto.EmployeeView;
+import com.example.spring_boot_testing.event.EmployeeChangedEvent;
+import com.example.spring_boot_testing.exception.DuplicateEmployeeException;
+import com.example.spring_boot_testing.index.EmployeeEmailFilter;
+import com.example.spring_boot_testing.index.EmployeeNameIndex;
+import com.example.spring_boot_testing.index.EmployeeSearchIndex;
 import com.example.spring_boot_testing.model.Employee;
 import com.example.spring_boot_testing.repository.EmployeeRepository;
 import com.example.spring_boot_testing.service.EmployeeService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.jpa.EntityManagerHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Profile("!reactive")
 public class EmployeeServiceImpl implements EmployeeService {
 
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int MAX_SUGGESTIONS = 50;
+    // keep in line with hibernate.jdbc.batch_size
+    static final int BATCH_SIZE = 50;
+    static final int EMAIL_LOOKUP_CHUNK = 1000;
+    // a power of two, so with IN-list padding every full chunk reuses the same statement plan
+    static final int ID_LOOKUP_CHUNK = 512;
+    // rows per DELETE statement, so a large cleanup never holds its locks for long
+    static final int DELETE_CHUNK = 500;
+    static final String EMAIL_UNIQUE_CONSTRAINT = "uk_employees_email";
+
     private EmployeeRepository employeeRepository;
+    private EntityManager entityManager;
+    private EmployeeCache employeeCache;
+    private EmployeeEmailFilter employeeEmailFilter;
+    private EmployeeNameIndex employeeNameIndex;
+    private EmployeeSearchIndex employeeSearchIndex;
+    private ApplicationEventPublisher eventPublisher;
+    private TransactionOperations transactionOperations;
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository, EntityManager entityManager,
+                               EmployeeCache employeeCache, EmployeeEmailFilter employeeEmailFilter,
+                               EmployeeNameIndex employeeNameIndex, EmployeeSearchIndex employeeSearchIndex,
+                               ApplicationEventPublisher eventPublisher, TransactionOperations transactionOperations) {
         this.employeeRepository = employeeRepository;
+        this.entityManager = entityManager;
+        this.employeeCache = employeeCache;
+        this.employeeEmailFilter = employeeEmailFilter;
+        this.employeeNameIndex = employeeNameIndex;
+        this.employeeSearchIndex = employeeSearchIndex;
+        this.eventPublisher = eventPublisher;
+        this.transactionOperations = transactionOperations;
     }
 
     @Override
     public Employee saveEmployee(Employee employee) {
 
-        Optional<Employee> savedEmployee = employeeRepository.findByEmail(employee.getEmail());
-        if(savedEmployee.isPresent()){
-            throw new ResourceNotFoundException("Employee already exist with given email:" + employee.getEmail());
+        // brand-new emails skip the lookup; the unique index catches whatever the filter lets through
+        if (employeeEmailFilter.mightContain(employee.getEmail())) {
+            Optional<Employee> savedEmployee = employeeRepository.findByEmail(employee.getEmail());
+            if(savedEmployee.isPresent()){
+                throw duplicateEmail(employee.getEmail(), null);
+            }
+        }
+        Employee newEmployee;
+        try {
+            newEmployee = employeeRepository.save(employee);
+        } catch (DataIntegrityViolationException e) {
+            throw isEmailConflict(e) ? duplicateEmail(employee.getEmail(), e) : e;
         }
-        return employeeRepository.save(employee);
+        employeeEmailFilter.add(newEmployee.getEmail());
+        // the new id may have been looked up before and cached as missing
+        employeeCache.invalidate(newEmployee.getId());
+        eventPublisher.publishEvent(EmployeeChangedEvent.created(newEmployee));
+        return newEmployee;
     }
 
     @Override
+    public List<EmployeeBatchResult> saveEmployees(List<Employee> employees) {
+        try {
+            return transactionOperations.execute(status -> insertBatch(employees));
+        } catch (RuntimeException e) {
+            if (!isEmailConflict(e)) {
+                throw e;
+            }
+            // an email the filter had not seen yet was inserted concurrently and the whole batch rolled back;
+            // redo it row by row so only the rows that clash come back as duplicates
+            return insertOneByOne(employees);
+        }
+    }
+
+    private List<EmployeeBatchResult> insertBatch(List<Employee> employees) {
+        Set<String> existingEmails = findExistingEmails(employees);
+        Set<String> seenEmails = new HashSet<>();
+        List<EmployeeBatchResult> results = new ArrayList<>(employees.size());
+
+        int pending = 0;
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            String email = employee.getEmail();
+            if (isIncomplete(employee)) {
+                results.add(incomplete(i, employee));
+            } else if (existingEmails.contains(email) || !seenEmails.add(email)) {
+                results.add(EmployeeBatchResult.rejected(i, EmployeeBatchResult.Status.DUPLICATE, email,
+                        "Employee already exist with given email:" + email));
+            } else {
+                employee.setId(0);
+                Employee savedEmployee = employeeRepository.save(employee);
+                results.add(EmployeeBatchResult.created(i, savedEmployee.getId(), email));
+                employeeEmailFilter.add(email);
+                employeeCache.invalidate(savedEmployee.getId());
+                eventPublisher.publishEvent(EmployeeChangedEvent.created(savedEmployee));
+                // flush a full JDBC batch and let go of the entities so the persistence context stays small
+                if (++pending == BATCH_SIZE) {
+                    entityManager.flush();
+                    entityManager.clear();
+                    pending = 0;
+                }
+            }
+        }
+        // the last inserts go out here rather than at commit, so a unique-key failure surfaces inside the transaction
+        entityManager.flush();
+        return results;
+    }
+
+    private List<EmployeeBatchResult> insertOneByOne(List<Employee> employees) {
+        Set<String> seenEmails = new HashSet<>();
+        List<EmployeeBatchResult> results = new ArrayList<>(employees.size());
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            String email = employee.getEmail();
+            if (isIncomplete(employee)) {
+                results.add(incomplete(i, employee));
+                continue;
+            }
+            try {
+                if (!seenEmails.add(email)) {
+                    throw duplicateEmail(email, null);
+                }
+                // the rolled-back batch left its sequence ids on the entities
+                employee.setId(0);
+                employee.setVersion(0);
+                results.add(EmployeeBatchResult.created(i, saveEmployee(employee).getId(), email));
+            } catch (DuplicateEmployeeException e) {
+                results.add(EmployeeBatchResult.rejected(i, EmployeeBatchResult.Status.DUPLICATE, email, e.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    private static boolean isIncomplete(Employee employee) {
+        return employee.getEmail() == null || employee.getFirstname() == null || employee.getLastname() == null;
+    }
+
+    private static EmployeeBatchResult incomplete(int index, Employee employee) {
+        return EmployeeBatchResult.rejected(index, EmployeeBatchResult.Status.INVALID, employee.getEmail(),
+                "firstname, lastname and email are required");
+    }
+
+    private Set<String> findExistingEmails(List<Employee> employees) {
+        List<String> emails = employees.stream()
+                .map(Employee::getEmail)
+                .filter(Objects::nonNull)
+                .filter(employeeEmailFilter::mightContain)
+                .distinct()
+                .toList();
+        Set<String> existingEmails = new HashSet<>();
+        for (int from = 0; from < emails.size(); from += EMAIL_LOOKUP_CHUNK) {
+            List<String> chunk = emails.subList(from, Math.min(from + EMAIL_LOOKUP_CHUNK, emails.size()));
+            existingEmails.addAll(employeeRepository.findExistingEmails(chunk));
+        }
+        return existingEmails;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Employee> getAllEmployees() {
         return employeeRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeView> getAllEmployeeViews() {
+        return employeeRepository.findAllViews();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeView> getEmployeeViewsByLastname(String lastNamePattern) {
+        return employeeRepository.findViewsByLastnameLike(lastNamePattern);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeView> getEmployeeViewsByFirstname(String firstName) {
+        return employeeRepository.findViewsByFirstname(firstName);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeePage getEmployeesPage(long afterId, int size, boolean withTotal) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        // fetch one extra row to find out whether there is a next page without a count query
+        List<Employee> employees = employeeRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+        Long next = null;
+        if (employees.size() > pageSize) {
+            employees = employees.subList(0, pageSize);
+            next = employees.get(pageSize - 1).getId();
+        }
+        Long total = withTotal ? employeeRepository.count() : null;
+        return new EmployeePage(employees, next, total);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEmployees(Consumer<Employee> consumer) {
+        try (Stream<Employee> employees = employeeRepository.streamAllOrderedById()) {
+            employees.forEach(employee -> {
+                consumer.accept(employee);
+                // drop it from the persistence context so heap use stays flat over the whole table
+                entityManager.detach(employee);
+            });
+        }
+    }
+
+    @Override
+    public List<EmployeeSuggestion> suggestEmployees(String prefix, int limit) {
+        return employeeNameIndex.search(prefix, Math.min(limit, MAX_SUGGESTIONS));
+    }
+
+    @Override
+    public EmployeeSearchPage searchEmployees(String query, int offset, int limit) {
+        return employeeSearchIndex.search(query, offset, limit);
+    }
+
+    // no transaction here: callers waiting on a coalesced lookup must not each hold a connection.
+    // The one lookup that runs does so in a read-write transaction of its own, which is routed to the primary:
+    // a row from a lagging replica would be served for the whole ttl, even to pinned clients
     @Override
     public Optional<Employee> getEmployeeById(long id) {
-        return employeeRepository.findById(id);
+        if (!lookupGetsOwnConnection()) {
+            // the lookup would run on the connection already held here, which may be the replica's
+            Optional<Employee> cached = employeeCache.getIfPresent(id);
+            return cached.isPresent() ? cached : employeeRepository.findById(id).map(employee -> employee.toBuilder().build());
+        }
+        return employeeCache.get(id, key -> transactionOperations.execute(status -> employeeRepository.findById(key)));
+    }
+
+    // false inside a transaction, or with an entity manager bound to the thread (open-in-view), since either
+    // keeps the connection it acquired first and the new transaction would join it instead of being routed
+    private static boolean lookupGetsOwnConnection() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.getResourceMap().values().stream()
+                        .noneMatch(EntityManagerHolder.class::isInstance);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeMultiGet getEmployeesByIds(List<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Map<Long, Optional<Employee>> found = new HashMap<>(employeeCache.getAllPresent(requested));
+
+        // only the misses go to the database; they are not put into the cache, since a write that
+        // lands between the select and the put would leave the old row cached until it expires
+        List<Long> misses = requested.stream().filter(id -> !found.containsKey(id)).toList();
+        for (int from = 0; from < misses.size(); from += ID_LOOKUP_CHUNK) {
+            List<Long> chunk = misses.subList(from, Math.min(from + ID_LOOKUP_CHUNK, misses.size()));
+            for (Employee employee : employeeRepository.findAllById(chunk)) {
+                found.put(employee.getId(), Optional.of(employee));
+            }
+        }
+
+        List<Employee> employees = new ArrayList<>(requested.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            Optional<Employee> employee = found.getOrDefault(id, Optional.empty());
+            if (employee.isPresent()) {
+                employees.add(employee.get());
+            } else {
+                missing.add(id);
+            }
+        }
+        return new EmployeeMultiGet(employees, missing);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> getEmployeeVersion(long id) {
+        // a cached employee answers without a query; otherwise only the version column is read
+        Optional<Employee> cachedEmployee = employeeCache.getIfPresent(id);
+        if (cachedEmployee.isPresent()) {
+            return Optional.of(cachedEmployee.get().getVersion());
+        }
+        return employeeRepository.findVersionById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeListVersion getEmployeesVersion() {
+        return employeeRepository.findListVersion();
     }
 
     @Override
     public Employee updateEmployee(Employee updatedEmployee) {
-        return employeeRepository.save(updatedEmployee);
+        Employee employee;
+        try {
+            employee = employeeRepository.save(updatedEmployee);
+        } catch (DataIntegrityViolationException e) {
+            throw isEmailConflict(e) ? duplicateEmail(updatedEmployee.getEmail(), e) : e;
+        } catch (OptimisticLockingFailureException e) {
+            // the cached copy may be the stale one (written through another instance), so the next read reloads it
+            employeeCache.invalidate(updatedEmployee.getId());
+            throw e;
+        }
+        employeeEmailFilter.add(employee.getEmail());
+        employeeCache.invalidate(employee.getId());
+        eventPublisher.publishEvent(EmployeeChangedEvent.updated(employee.getId(), employee));
+        return employee;
     }
 
     @Override
-    public void deleteEmployee(long id) {
-        employeeRepository.deleteById(id);
+    public boolean patchEmployee(long id, Employee patch) {
+        Optional<Employee> patched;
+        try {
+            // the row is read back in the same transaction, so listeners get all of it and not just the patched fields
+            patched = transactionOperations.execute(status ->
+                    employeeRepository.patchById(id, patch.getFirstname(), patch.getLastname(), patch.getEmail()) == 0
+                            ? Optional.<Employee>empty()
+                            : employeeRepository.findById(id));
+        } catch (DataIntegrityViolationException e) {
+            throw isEmailConflict(e) ? duplicateEmail(patch.getEmail(), e) : e;
+        }
+        if (patched.isEmpty()) {
+            return false;
+        }
+        if (patch.getEmail() != null) {
+            employeeEmailFilter.add(patch.getEmail());
+        }
+        employeeCache.invalidate(id);
+        eventPublisher.publishEvent(EmployeeChangedEvent.updated(id, patched.get()));
+        return true;
+    }
+
+    @Override
+    public boolean deleteEmployee(long id) {
+        int deleted = employeeRepository.deleteEmployeeById(id);
+        employeeEmailFilter.removed(deleted);
+        employeeCache.invalidate(id);
+        if (deleted > 0) {
+            eventPublisher.publishEvent(EmployeeChangedEvent.deleted(id));
+        }
+        return deleted > 0;
+    }
+
+    @Override
+    public long deleteEmployees(List<Long> ids) {
+        long deleted = 0;
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + DELETE_CHUNK, ids.size()));
+            deleted += deleteChunk(chunk);
+        }
+        return deleted;
+    }
+
+    @Override
+    public long deleteEmployeesByLastname(String lastname) {
+        long deleted = 0;
+        List<Long> chunk;
+        do {
+            // deleted rows drop out of the next select, so no cursor is needed
+            chunk = employeeRepository.findIdsByLastname(lastname, Limit.of(DELETE_CHUNK));
+            if (!chunk.isEmpty()) {
+                deleted += deleteChunk(chunk);
+            }
+        } while (chunk.size() == DELETE_CHUNK);
+        return deleted;
+    }
+
+    private int deleteChunk(List<Long> ids) {
+        // the select locks the rows it finds, so exactly those are deleted and announced, never ids that did not exist
+        List<Long> deletedIds = transactionOperations.execute(status -> {
+            List<Long> existingIds = employeeRepository.lockExistingIds(ids);
+            if (!existingIds.isEmpty()) {
+                employeeRepository.deleteEmployeesByIdIn(existingIds);
+            }
+            return existingIds;
+        });
+        employeeEmailFilter.removed(deletedIds.size());
+        ids.forEach(employeeCache::invalidate);
+        deletedIds.forEach(id -> eventPublisher.publishEvent(EmployeeChangedEvent.deleted(id)));
+        return deletedIds.size();
+    }
+
+    private static boolean isEmailConflict(RuntimeException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase().contains(EMAIL_UNIQUE_CONSTRAINT);
+            }
+        }
+        return false;
+    }
+
+    private static DuplicateEmployeeException duplicateEmail(String email, Throwable cause) {
+        return new DuplicateEmployeeException("Employee already exist with given email:" + email, cause);
     }
 }
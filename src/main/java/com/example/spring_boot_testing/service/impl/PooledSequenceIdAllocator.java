@@ -0,0 +1,43 @@
+package com.example.spring_boot_testing.service.impl;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Hands out ids from {@code employees_seq} the way Hibernate's pooled optimizer does: a sequence
+ * value {@code v} reserves the ids {@code v - incrementSize + 1 .. v}. Servlet and reactive
+ * instances sharing one database do not hand out the same id (short of two of them racing for
+ * the very first block of a fresh sequence), and only one sequence round trip is made per block.
+ */
+final class PooledSequenceIdAllocator {
+
+    private record Block(long next, long last) {
+    }
+
+    private final Supplier<Mono<Long>> nextSequenceValue;
+    private final int incrementSize;
+    private final AtomicReference<Block> block = new AtomicReference<>(new Block(1, 0));
+
+    PooledSequenceIdAllocator(Supplier<Mono<Long>> nextSequenceValue, int incrementSize) {
+        this.nextSequenceValue = nextSequenceValue;
+        this.incrementSize = incrementSize;
+    }
+
+    Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            for (Block current = block.get(); current.next() <= current.last(); current = block.get()) {
+                if (block.compareAndSet(current, new Block(current.next() + 1, current.last()))) {
+                    return Mono.just(current.next());
+                }
+            }
+            // concurrent callers may each fetch a block; the one installed last wins and the rest become gaps
+            return nextSequenceValue.get().map(last -> {
+                long first = Math.max(1, last - incrementSize + 1);
+                block.set(new Block(first + 1, last));
+                return first;
+            });
+        });
+    }
+}
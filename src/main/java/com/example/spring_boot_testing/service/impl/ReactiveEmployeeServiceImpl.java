@@ -0,0 +1,83 @@
+package com.example.spring_boot_testing.service.impl;
+
+import com.example.spring_boot_testing.exception.DuplicateEmployeeException;
+import com.example.spring_boot_testing.model.Employee;
+import com.example.spring_boot_testing.model.EmployeeRow;
+import com.example.spring_boot_testing.repository.ReactiveEmployeeRepository;
+import com.example.spring_boot_testing.service.ReactiveEmployeeService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+@Service
+@Profile("reactive")
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+    // allocationSize of the employees_seq generator on Employee
+    static final int ID_BLOCK_SIZE = 50;
+    static final int UPDATE_RETRIES = 3;
+
+    private ReactiveEmployeeRepository employeeRepository;
+    private PooledSequenceIdAllocator idAllocator;
+
+    public ReactiveEmployeeServiceImpl(ReactiveEmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+        this.idAllocator = new PooledSequenceIdAllocator(employeeRepository::nextSequenceValue, ID_BLOCK_SIZE);
+    }
+
+    @Override
+    public Mono<Employee> saveEmployee(Employee employee) {
+        // the lookup only gives the friendly error early; the unique index still decides under races
+        return employeeRepository.existsByEmail(employee.getEmail())
+                .flatMap(exists -> exists
+                        ? Mono.error(duplicateEmail(employee.getEmail(), null))
+                        : idAllocator.nextId())
+                .flatMap(id -> employeeRepository.save(
+                        new EmployeeRow(id, employee.getFirstname(), employee.getLastname(), employee.getEmail(), null)))
+                .onErrorMap(DataIntegrityViolationException.class, e -> isEmailConflict(e) ? duplicateEmail(employee.getEmail(), e) : e)
+                .map(EmployeeRow::toEmployee);
+    }
+
+    @Override
+    public Flux<Employee> getAllEmployees() {
+        return employeeRepository.findAllByOrderByIdAsc().map(EmployeeRow::toEmployee);
+    }
+
+    @Override
+    public Mono<Employee> getEmployeeById(long id) {
+        return employeeRepository.findById(id).map(EmployeeRow::toEmployee);
+    }
+
+    @Override
+    public Mono<Employee> updateEmployee(long id, Employee updatedEmployee) {
+        // versioned UPDATE; a concurrent writer makes it fail, and the read-modify-write is repeated on fresh data
+        return Mono.defer(() -> employeeRepository.findById(id)
+                        .flatMap(row -> employeeRepository.save(row.withNames(updatedEmployee))))
+                .retryWhen(Retry.max(UPDATE_RETRIES).filter(OptimisticLockingFailureException.class::isInstance))
+                .onErrorMap(DataIntegrityViolationException.class, e -> isEmailConflict(e) ? duplicateEmail(updatedEmployee.getEmail(), e) : e)
+                .map(EmployeeRow::toEmployee);
+    }
+
+    @Override
+    public Mono<Boolean> deleteEmployee(long id) {
+        return employeeRepository.deleteEmployeeById(id).map(deleted -> deleted > 0);
+    }
+
+    private static boolean isEmailConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null
+                    && cause.getMessage().toLowerCase().contains(EmployeeServiceImpl.EMAIL_UNIQUE_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static DuplicateEmployeeException duplicateEmail(String email, Throwable cause) {
+        return new DuplicateEmployeeException("Employee already exist with given email:" + email, cause);
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.spring_boot_testing.web;
+
+import com.example.spring_boot_testing.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Writes {@code Employee} and {@code List<Employee>} response bodies without Jackson: field names
+ * are pre-encoded, numbers and strings are encoded straight into a pooled byte buffer, and the
+ * buffer is flushed to the response as it fills, so no String, tree or per-request buffer is created.
+ *
+ * <p>Spring Boot puts HttpMessageConverter beans ahead of its defaults, so everything this converter
+ * does not claim, including every request body, still goes through Jackson. On startup the output
+ * is compared with the application's ObjectMapper; if they differ (for example because of
+ * spring.jackson.* settings) the converter steps aside and Jackson serves employees too.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.json.fast-writer.enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeJsonHttpMessageConverter.class);
+
+    static final int BUFFER_SIZE = 8 * 1024;
+    private static final int POOL_SIZE = 64;
+
+    private static final byte[] ID = ascii("{\"id\":");
+    private static final byte[] FIRSTNAME = ascii(",\"firstname\":");
+    private static final byte[] LASTNAME = ascii(",\"lastname\":");
+    private static final byte[] EMAIL = ascii(",\"email\":");
+    private static final byte[] VERSION = ascii(",\"version\":");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] HEX = ascii("0123456789ABCDEF");
+
+    private final ArrayBlockingQueue<byte[]> buffers = new ArrayBlockingQueue<>(POOL_SIZE);
+    private final boolean matchesJackson;
+
+    public EmployeeJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.matchesJackson = matchesJackson(objectMapper);
+        if (!matchesJackson) {
+            log.warn("ObjectMapper writes employees differently from the fast JSON writer; falling back to Jackson");
+        }
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == Employee.class;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return matchesJackson && (isEmployee(clazz) || isEmployeeList(type)) && canWrite(mediaType);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading is left to Jackson", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading is left to Jackson", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        write(body, outputMessage.getBody());
+    }
+
+    void write(Object body, OutputStream out) throws IOException {
+        byte[] buffer = buffers.poll();
+        JsonOutput json = new JsonOutput(buffer != null ? buffer : new byte[BUFFER_SIZE], out);
+        try {
+            if (body instanceof List<?> employees) {
+                json.put('[');
+                for (int i = 0; i < employees.size(); i++) {
+                    if (i > 0) {
+                        json.put(',');
+                    }
+                    json.employee((Employee) employees.get(i));
+                }
+                json.put(']');
+            } else {
+                json.employee((Employee) body);
+            }
+            json.flush();
+        } finally {
+            buffers.offer(json.buffer);
+        }
+    }
+
+    private static boolean isEmployee(Type type) {
+        return type == Employee.class;
+    }
+
+    private static boolean isEmployeeList(Type type) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw && List.class.isAssignableFrom(raw)
+                && isEmployee(parameterized.getActualTypeArguments()[0]);
+    }
+
+    private boolean matchesJackson(ObjectMapper objectMapper) {
+        Employee probe = Employee.builder().id(-42L).firstname("Zo\u00EB \"Q\"\n\u0001").lastname("\uD83D\uDE00 \u00DCnal").version(3).build();
+        try {
+            ByteArrayOutputStream ours = new ByteArrayOutputStream();
+            write(List.of(probe), ours);
+            return Arrays.equals(ours.toByteArray(), objectMapper.writeValueAsBytes(List.of(probe)));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static final class JsonOutput {
+
+        private final byte[] buffer;
+        private final OutputStream out;
+        private int position;
+
+        JsonOutput(byte[] buffer, OutputStream out) {
+            this.buffer = buffer;
+            this.out = out;
+        }
+
+        void employee(Employee employee) throws IOException {
+            if (employee == null) {
+                raw(NULL);
+                return;
+            }
+            raw(ID);
+            number(employee.getId());
+            raw(FIRSTNAME);
+            string(employee.getFirstname());
+            raw(LASTNAME);
+            string(employee.getLastname());
+            raw(EMAIL);
+            string(employee.getEmail());
+            raw(VERSION);
+            number(employee.getVersion());
+            put('}');
+        }
+
+        void put(char c) throws IOException {
+            ensure(1);
+            buffer[position++] = (byte) c;
+        }
+
+        void raw(byte[] bytes) throws IOException {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        // digits are produced from the negated value so Long.MIN_VALUE needs no special case
+        void number(long value) throws IOException {
+            ensure(20);
+            if (value < 0) {
+                buffer[position++] = '-';
+            }
+            long negative = value < 0 ? value : -value;
+            int length = 0;
+            for (long rest = negative; rest != 0 || length == 0; rest /= 10) {
+                length++;
+            }
+            int end = position + length;
+            for (int i = end; i > position; negative /= 10) {
+                buffer[--i] = (byte) ('0' - negative % 10);
+            }
+            position = end;
+        }
+
+        void string(String value) throws IOException {
+            if (value == null) {
+                raw(NULL);
+                return;
+            }
+            put('"');
+            int length = value.length();
+            for (int i = 0; i < length; i++) {
+                // the longest thing written for one char is a six-byte unicode escape
+                ensure(6);
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    if (c >= 0x20 && c != '"' && c != '\\') {
+                        buffer[position++] = (byte) c;
+                    } else {
+                        escape(c);
+                    }
+                } else if (c < 0x800) {
+                    buffer[position++] = (byte) (0xC0 | c >> 6);
+                    buffer[position++] = (byte) (0x80 | c & 0x3F);
+                } else if (Character.isSurrogate(c)) {
+                    // Jackson writes each half of a surrogate pair as an escape rather than one 4-byte sequence
+                    unicodeEscape(c);
+                } else {
+                    buffer[position++] = (byte) (0xE0 | c >> 12);
+                    buffer[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                    buffer[position++] = (byte) (0x80 | c & 0x3F);
+                }
+            }
+            put('"');
+        }
+
+        private void escape(char c) {
+            byte shortEscape = switch (c) {
+                case '"', '\\' -> (byte) c;
+                case '\b' -> 'b';
+                case '\f' -> 'f';
+                case '\n' -> 'n';
+                case '\r' -> 'r';
+                case '\t' -> 't';
+                default -> 0;
+            };
+            if (shortEscape == 0) {
+                unicodeEscape(c);
+            } else {
+                buffer[position++] = '\\';
+                buffer[position++] = shortEscape;
+            }
+        }
+
+        private void unicodeEscape(char c) {
+            buffer[position++] = '\\';
+            buffer[position++] = 'u';
+            buffer[position++] = HEX[c >> 12];
+            buffer[position++] = HEX[c >> 8 & 0xF];
+            buffer[position++] = HEX[c >> 4 & 0xF];
+            buffer[position++] = HEX[c & 0xF];
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (position + bytes > buffer.length) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            if (position > 0) {
+                out.write(buffer, 0, position);
+                position = 0;
+            }
+        }
+    }
+}
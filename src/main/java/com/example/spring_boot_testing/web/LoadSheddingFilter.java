@@ -0,0 +1,56 @@
+package com.example.spring_boot_testing.web;
+
+import com.example.spring_boot_testing.datasource.ConnectionPoolSaturation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Turns requests away with 503 and Retry-After while the connection pool is saturated, instead of
+ * letting them join the queue for a connection. A rejected request costs microseconds, and those that
+ * are admitted keep a bounded wait, so tail latency stays flat while the database is slow.
+ */
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    public static final String SHED_COUNTER = "employee.requests.shed";
+
+    private final ConnectionPoolSaturation saturation;
+    private final String retryAfterSeconds;
+    private final Map<ConnectionPoolSaturation.Reason, Counter> shed = new EnumMap<>(ConnectionPoolSaturation.Reason.class);
+
+    public LoadSheddingFilter(ConnectionPoolSaturation saturation, Duration retryAfter, MeterRegistry meterRegistry) {
+        this.saturation = saturation;
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfter.toSeconds()));
+        for (ConnectionPoolSaturation.Reason reason : ConnectionPoolSaturation.Reason.values()) {
+            shed.put(reason, Counter.builder(SHED_COUNTER)
+                    .description("Requests rejected because the connection pool was saturated")
+                    .tag("reason", reason.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Optional<ConnectionPoolSaturation.Reason> overloaded = saturation.overloaded();
+        if (overloaded.isPresent()) {
+            shed.get(overloaded.get()).increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,14 @@
+-- same table Hibernate creates for Employee, for reactive deployments that start on an empty database
+CREATE SEQUENCE IF NOT EXISTS employees_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS employees (
+    id         BIGINT       NOT NULL PRIMARY KEY,
+    first_name VARCHAR(255) NOT NULL,
+    last_name  VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    version    BIGINT       NOT NULL,
+    CONSTRAINT uk_employees_email UNIQUE (email)
+);
+
+CREATE INDEX IF NOT EXISTS idx_employees_last_name ON employees (last_name);
+CREATE INDEX IF NOT EXISTS idx_employees_first_name ON employees (first_name);
@@ -0,0 +1,13 @@
+-- One-off upgrade for MySQL databases whose employees table predates employees_seq, when ids were AUTO_INCREMENT.
+-- MySQL has no native sequences, so Hibernate keeps employees_seq as a one-row table, and ddl-auto=update creates it
+-- starting at 1: the first inserts would then be handed ids that already exist. Run this before starting the new
+-- version (or right after, as long as nothing has been inserted yet). It only ever moves the sequence forward, so
+-- running it again is harmless.
+CREATE TABLE IF NOT EXISTS employees_seq (next_val BIGINT) ENGINE = InnoDB;
+
+INSERT INTO employees_seq (next_val)
+SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM employees_seq);
+
+-- a sequence value v hands out the ids v - 49 .. v (allocationSize 50), so the next value clears max(id) by a block
+UPDATE employees_seq
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 51 FROM employees));
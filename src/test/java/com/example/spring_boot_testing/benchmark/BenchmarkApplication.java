@@ -0,0 +1,58 @@
+package com.example.spring_boot_testing.benchmark;
+
+import com.example.spring_boot_testing.SpringBootTestingApplication;
+import com.example.spring_boot_testing.model.Employee;
+import com.example.spring_boot_testing.service.EmployeeService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Starts the application against an in-memory H2 database for the JMH benchmarks, which run
+ * outside the Spring test framework.
+ */
+final class BenchmarkApplication {
+
+    static final String[] H2_PROPERTIES = {
+            "spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1",
+            "spring.datasource.username=sa",
+            "spring.datasource.password=",
+            "spring.jpa.hibernate.ddl-auto=create-drop",
+            "spring.jpa.show-sql=false",
+            "server.port=0",
+            "logging.level.root=WARN"
+    };
+
+    private BenchmarkApplication() {
+    }
+
+    // passed as command line arguments so they take precedence over application.properties
+    static ConfigurableApplicationContext start(String... extraProperties) {
+        return new SpringApplicationBuilder(SpringBootTestingApplication.class)
+                .run(Stream.concat(Arrays.stream(H2_PROPERTIES), Arrays.stream(extraProperties))
+                        .map(property -> "--" + property)
+                        .toArray(String[]::new));
+    }
+
+    // seeds employees named First<i>/Last<i % 100> so last-name queries match a fixed share of rows
+    static List<Employee> seed(ConfigurableApplicationContext context, int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(employee(i));
+        }
+        context.getBean(EmployeeService.class).saveEmployees(employees);
+        return employees;
+    }
+
+    static Employee employee(int i) {
+        return Employee.builder()
+                .firstname("First" + i)
+                .lastname("Last" + (i % 100))
+                .email("employee" + i + "@example.com")
+                .build();
+    }
+}
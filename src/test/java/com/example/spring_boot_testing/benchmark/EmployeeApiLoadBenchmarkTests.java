@@ -0,0 +1,50 @@
+package com.example.spring_boot_testing.benchmark;
+
+import com.example.spring_boot_testing.model.Employee;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// run with: mvn test -Pbenchmark -Dexec.skip=true -Dtest=EmployeeApiLoadBenchmarkTests \
+//             -Dload.rate=500 -Dload.duration=60 -Dload.mix=GET=70,POST=10,PUT=15,DELETE=5 -Dload.label=baseline
+// results are appended to target/load/results.csv, with .hgrm distributions next to it
+@Tag("benchmark")
+public class EmployeeApiLoadBenchmarkTests {
+
+    private static final double RATE = Double.parseDouble(System.getProperty("load.rate", "200"));
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmup", 10));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration", 30));
+    private static final int EMPLOYEES = Integer.getInteger("load.employees", 10_000);
+    private static final String MIX = System.getProperty("load.mix", "GET=70,POST=10,PUT=15,DELETE=5");
+    private static final Path OUTPUT = Path.of(System.getProperty("load.out", "target/load"));
+    private static final String LABEL = System.getProperty("load.label",
+            LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+
+    @Test
+    @DisplayName("Open-loop latency percentiles of a POST/GET/PUT/DELETE mix on /api/employees")
+    public void driveEmployeeApiAtFixedRate() throws Exception {
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start()) {
+            List<Employee> seeded = BenchmarkApplication.seed(context, EMPLOYEES);
+            long[] ids = seeded.stream().mapToLong(Employee::getId).toArray();
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/employees";
+            OpenLoopLoad load = new OpenLoopLoad(baseUrl, ids, OpenLoopLoad.parseMix(MIX));
+
+            load.run(RATE, WARMUP, 1L);
+            OpenLoopLoad.Report report = load.run(RATE, DURATION, 2L);
+
+            report.print(System.out, LABEL);
+            report.appendCsv(OUTPUT.resolve("results.csv"), LABEL);
+            report.writeHistograms(OUTPUT, LABEL);
+            assertThat(report.requests()).isPositive();
+        }
+    }
+}
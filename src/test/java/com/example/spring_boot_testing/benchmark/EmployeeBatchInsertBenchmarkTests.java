@@ -0,0 +1,91 @@
+package com.example.spring_boot_testing.benchmark;
+
+import com.example.spring_boot_testing.dto.EmployeeBatchResult;
+import com.example.spring_boot_testing.model.Employee;
+import com.example.spring_boot_testing.repository.EmployeeRepository;
+import com.example.spring_boot_testing.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// run with: mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:batch-benchmark;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+public class EmployeeBatchInsertBenchmarkTests {
+
+    private static final int ROWS = 5_000;
+    private static final int CHUNK = 1_000;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Rows/sec of the single-item create path against the batch create path on H2")
+    public void compareSingleItemAndBatchInserts() {
+        // warm up both paths so the comparison is not dominated by class loading and JIT
+        insertOneByOne(employees("warmup-single", 500));
+        employeeService.saveEmployees(employees("warmup-batch", 500));
+        employeeRepository.deleteAllInBatch();
+
+        long start = System.nanoTime();
+        insertOneByOne(employees("single", ROWS));
+        double singleRowsPerSecond = rowsPerSecond(start);
+
+        List<Employee> batchEmployees = employees("batch", ROWS);
+        start = System.nanoTime();
+        int created = 0;
+        for (int from = 0; from < ROWS; from += CHUNK) {
+            List<EmployeeBatchResult> results = employeeService.saveEmployees(batchEmployees.subList(from, from + CHUNK));
+            created += (int) results.stream().filter(result -> result.status() == EmployeeBatchResult.Status.CREATED).count();
+        }
+        double batchRowsPerSecond = rowsPerSecond(start);
+
+        System.out.printf("single-item inserts: %,.0f rows/sec%n", singleRowsPerSecond);
+        System.out.printf("batch inserts:       %,.0f rows/sec (%.1fx)%n", batchRowsPerSecond, batchRowsPerSecond / singleRowsPerSecond);
+
+        assertThat(created).isEqualTo(ROWS);
+        assertThat(employeeRepository.count()).isEqualTo(2L * ROWS);
+    }
+
+    private void insertOneByOne(List<Employee> employees) {
+        employees.forEach(employeeService::saveEmployee);
+    }
+
+    private static double rowsPerSecond(long startNanos) {
+        return ROWS / ((System.nanoTime() - startNanos) / 1_000_000_000.0);
+    }
+
+    private static List<Employee> employees(String prefix, int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(Employee.builder()
+                    .firstname("First" + i)
+                    .lastname("Last" + i)
+                    .email(prefix + i + "@example.com")
+                    .build());
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.spring_boot_testing.benchmark;
+
+import com.example.spring_boot_testing.dto.EmployeeImportResult;
+import com.example.spring_boot_testing.ingest.EmployeeCsvImporter;
+import com.example.spring_boot_testing.repository.EmployeeRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// run with: mvn test -Pbenchmark -Dtest=EmployeeCsvImportBenchmarkTests -Dimport.rows=1000000
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:import-benchmark;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+public class EmployeeCsvImportBenchmarkTests {
+
+    private static final int ROWS = Integer.getInteger("import.rows", 200_000);
+
+    @TempDir
+    private Path directory;
+
+    @Autowired
+    private EmployeeCsvImporter importer;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Test
+    @DisplayName("Rows/sec of the CSV import pipeline on H2")
+    public void importCsv() throws IOException {
+        // every 100th row repeats an earlier email, so the dedupe path is part of the measurement
+        Path file = directory.resolve("employees.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("firstname,lastname,email\n");
+            for (int i = 0; i < ROWS; i++) {
+                int email = i % 100 == 99 ? i - 1 : i;
+                writer.write("First" + i + ",\"Last" + i % 100 + "\",employee" + email + "@example.com\n");
+            }
+        }
+
+        EmployeeImportResult result = importer.importFile(file, progress -> System.out.println("  " + progress));
+
+        System.out.printf("imported %,d rows (%,d bytes) in %,d ms: %,d rows/sec, %,d created, %,d duplicates%n",
+                result.rows(), Files.size(file), result.elapsedMillis(), result.rowsPerSecond(),
+                result.created(), result.duplicates());
+        assertThat(result.rows()).isEqualTo(ROWS);
+        assertThat(result.duplicates()).isEqualTo(ROWS / 100);
+        assertThat(employeeRepository.count()).isEqualTo(result.created());
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.spring_boot_testing.benchmark;
+
+import com.example.spring_boot_testing.model.Employee;
+import com.example.spring_boot_testing.web.EmployeeJsonHttpMessageConverter;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson directly, and the two HTTP converters that can write an employee response. The converter
+ * benchmarks write into a discarding response, so the reported {@code gc.alloc.rate.norm} is what
+ * the converter itself allocates per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeJsonBenchmark {
+
+    private static final TypeReference<List<Employee>> EMPLOYEE_LIST = new TypeReference<>() {
+    };
+
+    private static final Type EMPLOYEE_LIST_TYPE = EMPLOYEE_LIST.getType();
+
+    private ObjectMapper objectMapper;
+    private MappingJackson2HttpMessageConverter jacksonConverter;
+    private EmployeeJsonHttpMessageConverter employeeConverter;
+    private DiscardingOutputMessage response;
+    private Employee employee;
+    private List<Employee> employees;
+    private byte[] employeeJson;
+    private byte[] employeesJson;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = new ObjectMapper();
+        employee = BenchmarkApplication.employee(1);
+        employee.setId(1L);
+        employees = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Employee listed = BenchmarkApplication.employee(i);
+            listed.setId(i);
+            employees.add(listed);
+        }
+        employeeJson = objectMapper.writeValueAsBytes(employee);
+        employeesJson = objectMapper.writeValueAsBytes(employees);
+        jacksonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+        employeeConverter = new EmployeeJsonHttpMessageConverter(objectMapper);
+        response = new DiscardingOutputMessage();
+    }
+
+    @Benchmark
+    public byte[] serializeEmployee() throws IOException {
+        return objectMapper.writeValueAsBytes(employee);
+    }
+
+    @Benchmark
+    public Employee deserializeEmployee() throws IOException {
+        return objectMapper.readValue(employeeJson, Employee.class);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeeList() throws IOException {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public List<Employee> deserializeEmployeeList() throws IOException {
+        return objectMapper.readValue(employeesJson, EMPLOYEE_LIST);
+    }
+
+    @Benchmark
+    public long writeEmployeeWithJacksonConverter() throws IOException {
+        jacksonConverter.write(employee, Employee.class, MediaType.APPLICATION_JSON, response);
+        return response.written();
+    }
+
+    @Benchmark
+    public long writeEmployeeWithEmployeeConverter() throws IOException {
+        employeeConverter.write(employee, Employee.class, MediaType.APPLICATION_JSON, response);
+        return response.written();
+    }
+
+    @Benchmark
+    public long writeEmployeeListWithJacksonConverter() throws IOException {
+        jacksonConverter.write(employees, EMPLOYEE_LIST_TYPE, MediaType.APPLICATION_JSON, response);
+        return response.written();
+    }
+
+    @Benchmark
+    public long writeEmployeeListWithEmployeeConverter() throws IOException {
+        employeeConverter.write(employees, EMPLOYEE_LIST_TYPE, MediaType.APPLICATION_JSON, response);
+        return response.written();
+    }
+
+    // stands in for the servlet response: reused across invocations and counts instead of keeping bytes
+    private static final class DiscardingOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private long written;
+        private final OutputStream body = new OutputStream() {
+            @Override
+            public void write(int b) {
+                written++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                written += len;
+            }
+        };
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        long written() {
+            return written;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.spring_boot_testing.benchmark;
+
+import com.example.spring_boot_testing.dto.EmployeeSummary;
+import com.example.spring_boot_testing.dto.EmployeeView;
+import com.example.spring_boot_testing.model.Employee;
+import com.example.spring_boot_testing.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity reads next to their projection counterparts. The benchmark profile runs JMH with
+ * {@code -prof gc}, so compare {@code gc.alloc.rate.norm} (bytes per call) alongside the latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeRepositoryBenchmark {
+
+    private static final int EMPLOYEES = 1000;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository employeeRepository;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkApplication.start();
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        BenchmarkApplication.seed(context, EMPLOYEES);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Employee> findByEmail() {
+        return employeeRepository.findByEmail("employee" + ThreadLocalRandom.current().nextInt(EMPLOYEES) + "@example.com");
+    }
+
+    @Benchmark
+    public List<Employee> findByLastnameLike() {
+        return employeeRepository.findByLastnameLike("Last" + ThreadLocalRandom.current().nextInt(100));
+    }
+
+    @Benchmark
+    public List<Employee> findByFirstname() {
+        return employeeRepository.findByFirstname("First" + ThreadLocalRandom.current().nextInt(EMPLOYEES));
+    }
+
+    @Benchmark
+    public List<Employee> findEmployeesByLastNameWithNativeQuery() {
+        return employeeRepository.findEmployeesByLastNameWithNativeQuery("Last" + ThreadLocalRandom.current().nextInt(100));
+    }
+
+    @Benchmark
+    public List<Employee> findAll() {
+        return employeeRepository.findAll();
+    }
+
+    @Benchmark
+    public List<EmployeeView> findAllViews() {
+        return employeeRepository.findAllViews();
+    }
+
+    @Benchmark
+    public List<EmployeeView> findViewsByLastnameLike() {
+        return employeeRepository.findViewsByLastnameLike("Last" + ThreadLocalRandom.current().nextInt(100));
+    }
+
+    @Benchmark
+    public List<EmployeeView> findViewsByFirstname() {
+        return employeeRepository.findViewsByFirstname("First" + ThreadLocalRandom.current().nextInt(EMPLOYEES));
+    }
+
+    @Benchmark
+    public List<EmployeeSummary> findSummariesByLastNameWithNativeQuery() {
+        return employeeRepository.findSummariesByLastNameWithNativeQuery("Last" + ThreadLocalRandom.current().nextInt(100));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.spring_boot_testing.benchmark;
+
+import com.example.spring_boot_testing.dto.EmployeePage;
+import com.example.spring_boot_testing.model.Employee;
+import com.example.spring_boot_testing.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+    private static final int EMPLOYEES = 1000;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private long firstId;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkApplication.start();
+        employeeService = context.getBean(EmployeeService.class);
+        BenchmarkApplication.seed(context, EMPLOYEES);
+        firstId = employeeService.getEmployeesPage(0L, 1, false).content().get(0).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Employee> getEmployeeById() {
+        return employeeService.getEmployeeById(firstId + ThreadLocalRandom.current().nextInt(EMPLOYEES));
+    }
+
+    @Benchmark
+    public List<Employee> getAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+
+    @Benchmark
+    public EmployeePage getEmployeesPage() {
+        return employeeService.getEmployeesPage(firstId + EMPLOYEES / 2, 50, false);
+    }
+
+    @Benchmark
+    public Employee saveAndDeleteEmployee() {
+        Employee employee = Employee.builder()
+                .firstname("Bench")
+                .lastname("Mark")
+                .email("bench" + System.nanoTime() + "@example.com")
+                .build();
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+        employeeService.deleteEmployee(savedEmployee.getId());
+        return savedEmployee;
+    }
+}
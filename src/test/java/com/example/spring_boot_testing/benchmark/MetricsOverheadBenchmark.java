@@ -0,0 +1,59 @@
+package com.example.spring_boot_testing.benchmark;
+
+import com.example.spring_boot_testing.model.Employee;
+import com.example.spring_boot_testing.repository.EmployeeRepository;
+import com.example.spring_boot_testing.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the per-method timers: compare the scores of the two metricsEnabled parameter values.
+ * getEmployeeById is served from the id cache, so it is the cheapest call and the worst case for
+ * relative overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    private static final int EMPLOYEES = 1000;
+
+    @Param({"false", "true"})
+    public boolean metricsEnabled;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private EmployeeRepository employeeRepository;
+    private long firstId;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkApplication.start("employee.metrics.enabled=" + metricsEnabled);
+        employeeService = context.getBean(EmployeeService.class);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        BenchmarkApplication.seed(context, EMPLOYEES);
+        firstId = employeeService.getEmployeesPage(0L, 1, false).content().get(0).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Employee> cachedGetEmployeeById() {
+        return employeeService.getEmployeeById(firstId + ThreadLocalRandom.current().nextInt(EMPLOYEES));
+    }
+
+    @Benchmark
+    public Optional<Employee> repositoryFindByEmail() {
+        return employeeRepository.findByEmail("employee" + ThreadLocalRandom.current().nextInt(EMPLOYEES) + "@example.com");
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.spring_boot_testing.benchmark;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Open-loop HTTP driver for /api/employees: requests are started on a fixed schedule whether or not
+ * earlier ones have finished, the way independent users arrive, and the operation of each is drawn from
+ * a weighted POST/GET/PUT/DELETE mix.
+ *
+ * <p>Latency is measured from the time a request was scheduled to start, not from when it was actually
+ * sent, so a stall that delays sending is charged to the requests it delayed instead of vanishing from
+ * the results (coordinated omission). The send-to-response time is kept too, as "uncorrected", to show
+ * how much that matters.
+ */
+final class OpenLoopLoad {
+
+    enum Operation {
+        CREATE("POST"),
+        READ("GET"),
+        UPDATE("PUT"),
+        DELETE("DELETE");
+
+        final String method;
+
+        Operation(String method) {
+            this.method = method;
+        }
+    }
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final long[] seededIds;
+    private final Map<Operation, Integer> mix;
+    // only ids created by this run are deleted, so GET and PUT never race a DELETE on a seeded id
+    private final ConcurrentLinkedQueue<Long> createdIds = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    OpenLoopLoad(String baseUrl, long[] seededIds, Map<Operation, Integer> mix) {
+        this.baseUrl = baseUrl;
+        this.seededIds = seededIds;
+        this.mix = mix;
+    }
+
+    // "GET=70,POST=10,PUT=15,DELETE=5"
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            Operation operation = null;
+            for (Operation candidate : Operation.values()) {
+                if (candidate.method.equalsIgnoreCase(parts[0].trim())) {
+                    operation = candidate;
+                }
+            }
+            if (operation == null || parts.length != 2) {
+                throw new IllegalArgumentException("Unsupported mix entry: " + entry);
+            }
+            weights.put(operation, Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    Report run(double ratePerSecond, Duration duration, long seed) throws InterruptedException {
+        Report report = new Report(ratePerSecond, duration);
+        SplittableRandom random = new SplittableRandom(seed);
+        long intervalNanos = Math.round(1e9 / ratePerSecond);
+        long requests = (long) (ratePerSecond * duration.toNanos() / 1e9);
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>((int) Math.min(requests, Integer.MAX_VALUE));
+        long start = System.nanoTime();
+
+        for (long k = 0; k < requests; k++) {
+            long intended = start + k * intervalNanos;
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            // behind schedule the loop fires straight away; the lag still counts against these requests
+            inFlight.add(send(pick(random), random, intended, report));
+        }
+        try {
+            CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+                    .get(REQUEST_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            // timed-out requests were already counted as errors by their own timeout
+        }
+        report.elapsedNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    private Operation pick(SplittableRandom random) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = random.nextInt(total);
+        for (Map.Entry<Operation, Integer> weight : mix.entrySet()) {
+            roll -= weight.getValue();
+            if (roll < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private CompletableFuture<Void> send(Operation operation, SplittableRandom random, long intended, Report report) {
+        Long deleteId = operation == Operation.DELETE ? createdIds.poll() : null;
+        if (operation == Operation.DELETE && deleteId == null) {
+            // nothing of ours left to delete yet
+            operation = Operation.READ;
+        }
+        long seededId = seededIds[random.nextInt(seededIds.length)];
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(REQUEST_TIMEOUT);
+        HttpRequest request = switch (operation) {
+            case CREATE -> builder.uri(URI.create(baseUrl))
+                    .header("Content-Type", "application/json")
+                    .POST(json("load" + sequence.incrementAndGet() + "-" + intended + "@example.com"))
+                    .build();
+            case READ -> builder.uri(URI.create(baseUrl + "/" + seededId)).GET().build();
+            case UPDATE -> builder.uri(URI.create(baseUrl + "/" + seededId))
+                    .header("Content-Type", "application/json")
+                    .PUT(json("seeded" + seededId + "@example.com"))
+                    .build();
+            case DELETE -> builder.uri(URI.create(baseUrl + "/" + deleteId)).DELETE().build();
+        };
+        Operation recorded = operation;
+        long sent = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, failure) -> {
+                    long done = System.nanoTime();
+                    boolean ok = failure == null && response.statusCode() < 400;
+                    if (ok && recorded == Operation.CREATE) {
+                        Matcher id = ID.matcher(response.body());
+                        if (id.find()) {
+                            createdIds.add(Long.parseLong(id.group(1)));
+                        }
+                    }
+                    report.record(recorded, done - intended, done - sent, ok);
+                    return null;
+                });
+    }
+
+    private static HttpRequest.BodyPublisher json(String email) {
+        return HttpRequest.BodyPublishers.ofString(
+                "{\"firstname\":\"Load\",\"lastname\":\"Test\",\"email\":\"" + email + "\"}");
+    }
+
+    static final class Report {
+
+        private static final String CSV_HEADER = "label,operation,target_rate,duration_s,requests,errors,achieved_rate,"
+                + "p50_ms,p90_ms,p99_ms,p99_9_ms,p99_99_ms,max_ms,uncorrected_p99_ms,uncorrected_max_ms";
+
+        private final double targetRate;
+        private final Duration duration;
+        private final Map<Operation, Histogram> corrected = new EnumMap<>(Operation.class);
+        private final Map<Operation, Histogram> uncorrected = new EnumMap<>(Operation.class);
+        private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+        private long elapsedNanos;
+
+        private Report(double targetRate, Duration duration) {
+            this.targetRate = targetRate;
+            this.duration = duration;
+            for (Operation operation : Operation.values()) {
+                corrected.put(operation, new ConcurrentHistogram(3));
+                uncorrected.put(operation, new ConcurrentHistogram(3));
+                errors.put(operation, new AtomicLong());
+            }
+        }
+
+        // microsecond resolution; the histograms resize themselves for outliers
+        private void record(Operation operation, long correctedNanos, long uncorrectedNanos, boolean ok) {
+            corrected.get(operation).recordValue(Math.max(1, correctedNanos / 1000));
+            uncorrected.get(operation).recordValue(Math.max(1, uncorrectedNanos / 1000));
+            if (!ok) {
+                errors.get(operation).incrementAndGet();
+            }
+        }
+
+        long requests() {
+            return corrected.values().stream().mapToLong(Histogram::getTotalCount).sum();
+        }
+
+        long errors() {
+            return errors.values().stream().mapToLong(AtomicLong::get).sum();
+        }
+
+        void print(PrintStream out, String label) {
+            out.printf("%s: target %,.0f req/s for %ds, achieved %,.0f req/s%n", label, targetRate,
+                    duration.toSeconds(), requests() / (elapsedNanos / 1e9));
+            out.printf("%-8s %9s %7s %9s %9s %9s %9s %9s %9s  %s%n",
+                    "op", "requests", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "p99.99 ms", "max ms", "(uncorrected p99 / max)");
+            forEachRow((name, histogram, raw, errorCount) -> out.printf(Locale.ROOT,
+                    "%-8s %,9d %,7d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f  (%.2f / %.2f)%n",
+                    name, histogram.getTotalCount(), errorCount,
+                    millis(histogram, 50), millis(histogram, 90), millis(histogram, 99),
+                    millis(histogram, 99.9), millis(histogram, 99.99), histogram.getMaxValue() / 1000.0,
+                    millis(raw, 99), raw.getMaxValue() / 1000.0));
+        }
+
+        // appends one row per operation plus ALL, so consecutive runs end up in one comparable file
+        void appendCsv(Path file, String label) throws IOException {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            StringBuilder csv = new StringBuilder();
+            if (!Files.exists(file)) {
+                csv.append(CSV_HEADER).append('\n');
+            }
+            double seconds = elapsedNanos / 1e9;
+            forEachRow((name, histogram, raw, errorCount) -> csv.append(String.format(Locale.ROOT,
+                    "%s,%s,%.0f,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                    label, name, targetRate, duration.toSeconds(), histogram.getTotalCount(), errorCount,
+                    histogram.getTotalCount() / seconds,
+                    millis(histogram, 50), millis(histogram, 90), millis(histogram, 99),
+                    millis(histogram, 99.9), millis(histogram, 99.99), histogram.getMaxValue() / 1000.0,
+                    millis(raw, 99), raw.getMaxValue() / 1000.0)));
+            Files.writeString(file, csv, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+
+        // full percentile distributions in HdrHistogram's .hgrm format, for the HdrHistogram plotter
+        void writeHistograms(Path directory, String label) throws IOException {
+            Files.createDirectories(directory);
+            List<IOException> failures = new ArrayList<>();
+            forEachRow((name, histogram, raw, errorCount) -> {
+                try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(label + "-" + name + ".hgrm")))) {
+                    histogram.outputPercentileDistribution(out, 1000.0);
+                } catch (IOException e) {
+                    failures.add(e);
+                }
+            });
+            if (!failures.isEmpty()) {
+                throw failures.get(0);
+            }
+        }
+
+        private interface Row {
+            void accept(String name, Histogram corrected, Histogram uncorrected, long errors);
+        }
+
+        private void forEachRow(Row row) {
+            Histogram allCorrected = new Histogram(3);
+            Histogram allUncorrected = new Histogram(3);
+            for (Operation operation : Operation.values()) {
+                Histogram histogram = corrected.get(operation);
+                if (histogram.getTotalCount() == 0) {
+                    continue;
+                }
+                row.accept(operation.method, histogram, uncorrected.get(operation), errors.get(operation).get());
+                allCorrected.add(histogram);
+                allUncorrected.add(uncorrected.get(operation));
+            }
+            row.accept("ALL", allCorrected, allUncorrected, errors());
+        }
+
+        private static double millis(Histogram histogram, double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+}
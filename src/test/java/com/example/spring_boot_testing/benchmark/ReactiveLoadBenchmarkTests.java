@@ -0,0 +1,69 @@
+package com.example.spring_boot_testing.benchmark;
+
+import com.example.spring_boot_testing.service.EmployeeService;
+import com.example.spring_boot_testing.service.ReactiveEmployeeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// run with: mvn test -Pbenchmark -Dtest=ReactiveLoadBenchmarkTests
+@Tag("benchmark")
+public class ReactiveLoadBenchmarkTests {
+
+    private static final int EMPLOYEES = 1000;
+    private static final int CONCURRENCY = 1000;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration DURATION = Duration.ofSeconds(20);
+
+    @Test
+    @DisplayName("Throughput and p99 latency of GET /api/employees/{id} on the servlet and reactive stacks")
+    public void compareServletAndReactiveStacks() throws Exception {
+        HttpLoad.Result platform = servlet("platform", false);
+        HttpLoad.Result virtual = servlet("virtual", true);
+        HttpLoad.Result reactive = reactive();
+
+        System.out.println(platform);
+        System.out.println(virtual);
+        System.out.println(reactive);
+
+        assertThat(platform.requests()).isPositive();
+        assertThat(virtual.requests()).isPositive();
+        assertThat(reactive.requests()).isPositive();
+    }
+
+    // the id cache is disabled so every servlet request reaches the database, as every reactive one does
+    private static HttpLoad.Result servlet(String name, boolean virtualThreads) throws InterruptedException {
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start(
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "employee.cache.maximum-size=0")) {
+            BenchmarkApplication.seed(context, EMPLOYEES);
+            long firstId = context.getBean(EmployeeService.class).getEmployeesPage(0L, 1, false).content().get(0).getId();
+            return load(name, context, firstId);
+        }
+    }
+
+    private static HttpLoad.Result reactive() throws InterruptedException {
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start(
+                "spring.profiles.active=reactive",
+                "spring.r2dbc.url=r2dbc:h2:mem:///jmh-reactive;DB_CLOSE_DELAY=-1")) {
+            ReactiveEmployeeService employeeService = context.getBean(ReactiveEmployeeService.class);
+            for (int i = 0; i < EMPLOYEES; i++) {
+                employeeService.saveEmployee(BenchmarkApplication.employee(i)).block();
+            }
+            long firstId = employeeService.getAllEmployees().blockFirst().getId();
+            return load("reactive", context, firstId);
+        }
+    }
+
+    private static HttpLoad.Result load(String name, ConfigurableApplicationContext context, long firstId) throws InterruptedException {
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/employees/";
+        HttpLoad.run(name, CONCURRENCY, WARMUP, i -> URI.create(baseUrl + (firstId + i % EMPLOYEES)));
+        return HttpLoad.run(name, CONCURRENCY, DURATION, i -> URI.create(baseUrl + (firstId + i % EMPLOYEES)));
+    }
+}
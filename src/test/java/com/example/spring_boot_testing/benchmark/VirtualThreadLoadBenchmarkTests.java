@@ -0,0 +1,49 @@
+package com.example.spring_boot_testing.benchmark;
+
+import com.example.spring_boot_testing.service.EmployeeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// run with: mvn test -Pbenchmark -Dtest=VirtualThreadLoadBenchmarkTests
+@Tag("benchmark")
+public class VirtualThreadLoadBenchmarkTests {
+
+    private static final int EMPLOYEES = 1000;
+    private static final int CONCURRENCY = 1000;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration DURATION = Duration.ofSeconds(20);
+
+    @Test
+    @DisplayName("Throughput and p99 latency of GET /api/employees/{id} on platform and virtual threads")
+    public void comparePlatformAndVirtualThreads() throws Exception {
+        HttpLoad.Result platform = load("platform", false);
+        HttpLoad.Result virtual = load("virtual", true);
+
+        System.out.println(platform);
+        System.out.println(virtual);
+
+        assertThat(platform.requests()).isPositive();
+        assertThat(virtual.requests()).isPositive();
+    }
+
+    // the id cache is disabled so every request blocks on JDBC, which is where the two modes differ
+    private static HttpLoad.Result load(String name, boolean virtualThreads) throws InterruptedException {
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start(
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "employee.cache.maximum-size=0")) {
+            BenchmarkApplication.seed(context, EMPLOYEES);
+            long firstId = context.getBean(EmployeeService.class).getEmployeesPage(0L, 1, false).content().get(0).getId();
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/employees/";
+
+            HttpLoad.run(name, CONCURRENCY, WARMUP, i -> URI.create(baseUrl + (firstId + i % EMPLOYEES)));
+            return HttpLoad.run(name, CONCURRENCY, DURATION, i -> URI.create(baseUrl + (firstId + i % EMPLOYEES)));
+        }
+    }
+}
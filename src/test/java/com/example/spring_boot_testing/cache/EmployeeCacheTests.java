@@ -0,0 +1,83 @@
+package com.example.spring_boot_testing.cache;
+
+import com.example.spring_boot_testing.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeCacheTests {
+
+    private EmployeeCache employeeCache;
+
+    private AtomicInteger loads;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setup(){
+        employeeCache = new EmployeeCache(100, Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ofSeconds(1));
+        loads = new AtomicInteger();
+        employee = Employee.builder()
+                .id(1L)
+                .firstname("Oguz")
+                .lastname("KARADAG")
+                .email("karadagoguzkaan@gmail.com")
+                .build();
+    }
+
+    @DisplayName("JUnit test for cache hits and misses")
+    @Test
+    public void givenLoadedEmployee_whenGetAgain_thenServedFromCache(){
+        // when -  action or the behaviour that we are going test
+        employeeCache.get(1L, loader(Optional.of(employee)));
+        Optional<Employee> cached = employeeCache.get(1L, loader(Optional.of(employee)));
+
+        // then - verify the output
+        assertThat(cached).isPresent();
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(employeeCache.stats().hitCount()).isEqualTo(1);
+        assertThat(employeeCache.stats().missCount()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for negative lookups being cached")
+    @Test
+    public void givenMissingEmployee_whenGetAgain_thenEmptyServedFromCache(){
+        // when -  action or the behaviour that we are going test
+        employeeCache.get(2L, loader(Optional.empty()));
+        Optional<Employee> cached = employeeCache.get(2L, loader(Optional.empty()));
+
+        // then - verify the output
+        assertThat(cached).isEmpty();
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for invalidation and copy semantics")
+    @Test
+    public void givenMutatedCopy_whenInvalidate_thenReloaded(){
+        // given - precondition or setup
+        employeeCache.get(1L, loader(Optional.of(employee))).get().setFirstname("Changed");
+
+        // when -  action or the behaviour that we are going test
+        Optional<Employee> beforeInvalidate = employeeCache.get(1L, loader(Optional.of(employee)));
+        employeeCache.invalidate(1L);
+        employeeCache.get(1L, loader(Optional.of(employee)));
+
+        // then - verify the output
+        assertThat(beforeInvalidate.get().getFirstname()).isEqualTo("Oguz");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private Function<Long, Optional<Employee>> loader(Optional<Employee> result) {
+        return id -> {
+            loads.incrementAndGet();
+            return result;
+        };
+    }
+}
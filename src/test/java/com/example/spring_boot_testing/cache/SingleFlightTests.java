@@ -0,0 +1,112 @@
+package com.example.spring_boot_testing.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SingleFlightTests {
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>(Duration.ofSeconds(5));
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @DisplayName("JUnit test for a failure shared by every caller of one flight")
+    @Test
+    public void givenFailingCall_whenCoalesced_thenEveryCallerGetsTheFailure() throws Exception {
+        // given - precondition or setup
+        IllegalStateException failure = new IllegalStateException("database down");
+        CompletableFuture<String> leader = leader(() -> {
+            throw failure;
+        });
+        CompletableFuture<String> follower = follower(singleFlight);
+
+        // when -  action or the behaviour that we are going test
+        release.countDown();
+
+        // then - verify the output
+        assertThatThrownBy(leader::get).isInstanceOf(ExecutionException.class).hasCause(failure);
+        assertThatThrownBy(follower::get).isInstanceOf(ExecutionException.class).hasCause(failure);
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(singleFlight.coalesced()).isEqualTo(1);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @DisplayName("JUnit test for a waiter giving up on a slow flight")
+    @Test
+    public void givenSlowCall_whenWaitExceedsTimeout_thenWaiterTimesOutAndCallCompletes() throws Exception {
+        // given - precondition or setup
+        SingleFlight<Long, String> impatient = new SingleFlight<>(Duration.ofMillis(50));
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> run(impatient, () -> "Tony"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when -  action or the behaviour that we are going test
+        assertThatThrownBy(() -> impatient.execute(1L, id -> "unused")).isInstanceOf(TimeoutException.class);
+        release.countDown();
+
+        // then - verify the output
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("Tony");
+        assertThat(impatient.timedOut()).isEqualTo(1);
+        // the flight has landed, so the next call runs again
+        assertThat(impatient.execute(1L, id -> "Pepper")).isEqualTo("Pepper");
+        assertThat(impatient.led()).isEqualTo(2);
+    }
+
+    private CompletableFuture<String> leader(Call call) throws InterruptedException {
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> run(singleFlight, call));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        return leader;
+    }
+
+    private CompletableFuture<String> follower(SingleFlight<Long, String> flight) throws InterruptedException {
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> {
+            try {
+                return flight.execute(1L, id -> {
+                    calls.incrementAndGet();
+                    return "second call";
+                });
+            } catch (TimeoutException e) {
+                throw new AssertionError(e);
+            }
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.coalesced() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        return follower;
+    }
+
+    private String run(SingleFlight<Long, String> flight, Call call) {
+        try {
+            return flight.execute(1L, id -> {
+                calls.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return call.get();
+            });
+        } catch (TimeoutException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private interface Call {
+        String get();
+    }
+}
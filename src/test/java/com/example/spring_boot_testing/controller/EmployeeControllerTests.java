@@ -1,6 +1,15 @@
 package com.example.spring_boot_testing.controller;
 
 
+import com.example.spring_boot_testing.dto.EmployeeBatchResult;
+import com.example.spring_boot_testing.dto.EmployeeListVersion;
+import com.example.spring_boot_testing.dto.EmployeeMultiGet;
+import com.example.spring_boot_testing.dto.EmployeePage;
+import com.example.spring_boot_testing.dto.EmployeeSearchHit;
+import com.example.spring_boot_testing.dto.EmployeeSearchPage;
+import com.example.spring_boot_testing.dto.EmployeeSuggestion;
+import com.example.spring_boot_testing.dto.EmployeeView;
+import com.example.spring_boot_testing.exception.DuplicateEmployeeException;
 import com.example.spring_boot_testing.model.Employee;
 import com.example.spring_boot_testing.service.EmployeeService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -9,24 +18,35 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest
+@WebMvcTest(EmployeeController.class)
 public class EmployeeControllerTests {
 
     @Autowired
@@ -74,6 +94,7 @@ public class EmployeeControllerTests {
         listOfEmployees.add(Employee.builder().firstname("Ramesh").lastname("Fadatare").email("ramesh@gmail.com").build());
         listOfEmployees.add(Employee.builder().firstname("Tony").lastname("Stark").email("tony@gmail.com").build());
         given(employeeService.getAllEmployees()).willReturn(listOfEmployees);
+        given(employeeService.getEmployeesVersion()).willReturn(new EmployeeListVersion(2, 3, 0));
 
         // when -  action or the behaviour that we are going test
         ResultActions response = mockMvc.perform(get("/api/employees"));
@@ -201,7 +222,7 @@ public class EmployeeControllerTests {
     public void givenEmployeeId_whenDeleteEmployee_thenReturn200() throws Exception{
         // given - precondition or setup
         long employeeId = 1L;
-        willDoNothing().given(employeeService).deleteEmployee(employeeId);
+        given(employeeService.deleteEmployee(employeeId)).willReturn(true);
 
         // when -  action or the behaviour that we are going test
         ResultActions response = mockMvc.perform(delete("/api/employees/{id}", employeeId));
@@ -211,4 +232,341 @@ public class EmployeeControllerTests {
                 .andDo(print());
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("JUnit test for keyset paginated employees REST API")
+    public void givenPageSize_whenGetEmployeesPage_thenReturnPageWithNextCursor() throws Exception{
+        // given - precondition or setup
+        List<Employee> content = List.of(
+                Employee.builder().id(1L).firstname("Ramesh").lastname("Fadatare").email("ramesh@gmail.com").build(),
+                Employee.builder().id(2L).firstname("Tony").lastname("Stark").email("tony@gmail.com").build());
+        given(employeeService.getEmployeesPage(0L, 2, false)).willReturn(new EmployeePage(content, 2L, null));
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees").param("size", "2"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.content.size()", is(2)))
+                .andExpect(jsonPath("$.next", is(2)))
+                .andExpect(jsonPath("$.total").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("JUnit test for NDJSON export employees REST API")
+    public void givenEmployees_whenExportEmployees_thenStreamOneJsonObjectPerLine() throws Exception{
+        // given - precondition or setup
+        Employee employee1 = Employee.builder().id(1L).firstname("Ramesh").lastname("Fadatare").email("ramesh@gmail.com").build();
+        Employee employee2 = Employee.builder().id(2L).firstname("Tony").lastname("Stark").email("tony@gmail.com").build();
+        willAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            consumer.accept(employee1);
+            consumer.accept(employee2);
+            return null;
+        }).given(employeeService).exportEmployees(any());
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees/export"));
+
+        // then - verify the output
+        String[] lines = response.andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[1], Employee.class).getEmail()).isEqualTo("tony@gmail.com");
+    }
+
+    @Test
+    @DisplayName("JUnit test for bulk create employees REST API")
+    public void givenEmployeesList_whenCreateEmployees_thenReturnPerItemResults() throws Exception{
+        // given - precondition or setup
+        List<Employee> employees = List.of(
+                Employee.builder().firstname("Ramesh").lastname("Fadatare").email("ramesh@gmail.com").build(),
+                Employee.builder().firstname("Tony").lastname("Stark").email("ramesh@gmail.com").build());
+        given(employeeService.saveEmployees(any())).willReturn(List.of(
+                EmployeeBatchResult.created(0, 1L, "ramesh@gmail.com"),
+                EmployeeBatchResult.rejected(1, EmployeeBatchResult.Status.DUPLICATE, "ramesh@gmail.com", "duplicate")));
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/api/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employees)));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[1].status", is("DUPLICATE")));
+    }
+
+    @Test
+    @DisplayName("JUnit test for create employee REST API with a duplicate email")
+    public void givenDuplicateEmail_whenCreateEmployee_thenReturn409() throws Exception {
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstname("Oguz")
+                .lastname("KARADAG")
+                .email("karadagoguzkaan@gmail.com")
+                .build();
+        given(employeeService.saveEmployee(any(Employee.class)))
+                .willThrow(new DuplicateEmployeeException("Employee already exist with given email:" + employee.getEmail()));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+        // then - verify the result or output using assert statements
+        response.andDo(print())
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("JUnit test for patch employee REST API - positive scenario")
+    public void givenPartialEmployee_whenPatchEmployee_thenReturn204() throws Exception{
+        // given - precondition or setup
+        long employeeId = 1L;
+        given(employeeService.patchEmployee(eq(employeeId), any(Employee.class))).willReturn(true);
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(patch("/api/employees/{id}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"karadagselcuk@gmail.com\"}"));
+
+        // then - verify the output
+        response.andExpect(status().isNoContent())
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("JUnit test for patch employee REST API - negative scenario")
+    public void givenPartialEmployee_whenPatchMissingEmployee_thenReturn404() throws Exception{
+        // given - precondition or setup
+        long employeeId = 1L;
+        given(employeeService.patchEmployee(eq(employeeId), any(Employee.class))).willReturn(false);
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(patch("/api/employees/{id}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstname\":\"Selcuk\"}"));
+
+        // then - verify the output
+        response.andExpect(status().isNotFound())
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("JUnit test for delete employee REST API - negative scenario")
+    public void givenMissingEmployeeId_whenDeleteEmployee_thenReturn404() throws Exception{
+        // given - precondition or setup
+        long employeeId = 1L;
+        given(employeeService.deleteEmployee(employeeId)).willReturn(false);
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(delete("/api/employees/{id}", employeeId));
+
+        // then - verify the output
+        response.andExpect(status().isNotFound())
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("JUnit test for bulk delete employees by last name REST API")
+    public void givenLastName_whenDeleteEmployees_thenReturnDeletedCount() throws Exception{
+        // given - precondition or setup
+        given(employeeService.deleteEmployeesByLastname("Stark")).willReturn(3L);
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(delete("/api/employees").param("lastname", "Stark"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.deleted", is(3)));
+    }
+
+    @Test
+    @DisplayName("JUnit test for get employees by ids REST API")
+    public void givenIds_whenGetEmployeesByIds_thenReturnFoundInOrderAndMissing() throws Exception{
+        // given - precondition or setup
+        Employee tony = Employee.builder().id(3L).firstname("Tony").lastname("Stark").email("tony@stark.com").build();
+        Employee pepper = Employee.builder().id(1L).firstname("Pepper").lastname("Potts").email("pepper@stark.com").build();
+        given(employeeService.getEmployeesByIds(List.of(3L, 2L, 1L)))
+                .willReturn(new EmployeeMultiGet(List.of(tony, pepper), List.of(2L)));
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees").param("ids", "3,2,1"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.employees[0].firstname", is("Tony")))
+                .andExpect(jsonPath("$.employees[1].firstname", is("Pepper")))
+                .andExpect(jsonPath("$.missing[0]", is(2)));
+    }
+
+    @Test
+    @DisplayName("JUnit test for lookup employees REST API with too many ids")
+    public void givenTooManyIds_whenLookupEmployees_thenBadRequest() throws Exception{
+        // given - precondition or setup
+        List<Long> ids = new ArrayList<>();
+        for (long id = 0; id <= EmployeeController.MAX_BATCH_SIZE; id++) {
+            ids.add(id);
+        }
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/api/employees/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ids)));
+
+        // then - verify the output
+        response.andExpect(status().isBadRequest());
+        verify(employeeService, never()).getEmployeesByIds(any());
+    }
+
+    @Test
+    @DisplayName("JUnit test for search employees REST API")
+    public void givenQuery_whenSearchEmployees_thenReturnRankedPage() throws Exception{
+        // given - precondition or setup
+        given(employeeService.searchEmployees("tony stark", 20, 10)).willReturn(new EmployeeSearchPage(
+                List.of(new EmployeeSearchHit(3L, "Tony", "Stark", "tony@stark.com", 2.0)), 21));
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees/search")
+                .param("q", "tony stark")
+                .param("offset", "20")
+                .param("limit", "10"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.total", is(21)))
+                .andExpect(jsonPath("$.hits[0].email", is("tony@stark.com")));
+    }
+
+    @Test
+    @DisplayName("JUnit test for suggest employees REST API")
+    public void givenPrefix_whenSuggestEmployees_thenReturnSuggestions() throws Exception{
+        // given - precondition or setup
+        given(employeeService.suggestEmployees("kar", 10))
+                .willReturn(List.of(new EmployeeSuggestion(1L, "Oguz", "Karadag")));
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees/suggest").param("prefix", "kar"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].lastname", is("Karadag")));
+    }
+
+    @Test
+    @DisplayName("JUnit test for get employee views by last name REST API")
+    public void givenLastNamePattern_whenGetEmployeeViews_thenReturnProjections() throws Exception{
+        // given - precondition or setup
+        given(employeeService.getEmployeeViewsByLastname("Kara%"))
+                .willReturn(List.of(new EmployeeView(1L, "Oguz", "Karadag", "karadagoguzkaan@gmail.com")));
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees/views").param("lastname", "Kara%"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].email", is("karadagoguzkaan@gmail.com")));
+    }
+
+    @Test
+    @DisplayName("JUnit test for conditional GET employee by id REST API")
+    public void givenCurrentETag_whenGetEmployeeById_thenReturn304WithoutLoadingEmployee() throws Exception{
+        // given - precondition or setup
+        long employeeId = 1L;
+        given(employeeService.getEmployeeVersion(employeeId)).willReturn(Optional.of(3L));
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees/{id}", employeeId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+
+        // then - verify the output
+        response.andExpect(status().isNotModified())
+                .andDo(print())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+        verify(employeeService, never()).getEmployeeById(employeeId);
+    }
+
+    @Test
+    @DisplayName("JUnit test for conditional GET all employees REST API")
+    public void givenCurrentListETag_whenGetAllEmployees_thenReturn304() throws Exception{
+        // given - precondition or setup
+        given(employeeService.getEmployeesVersion()).willReturn(new EmployeeListVersion(2, 3, 4));
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees")
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"2-3-4\""));
+
+        // then - verify the output
+        response.andExpect(status().isNotModified())
+                .andDo(print());
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    @Test
+    @DisplayName("JUnit test for update employee REST API with a stale If-Match")
+    public void givenStaleIfMatch_whenUpdateEmployee_thenReturn412() throws Exception{
+        // given - precondition or setup
+        long employeeId = 1L;
+        Employee savedEmployee = Employee.builder().id(employeeId).firstname("Oguz").lastname("Karadag")
+                .email("karadagoguzkaan@gmail.com").version(5).build();
+        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(savedEmployee));
+        given(employeeService.updateEmployee(any(Employee.class)))
+                .willThrow(new ObjectOptimisticLockingFailureException(Employee.class, employeeId));
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
+                .header(HttpHeaders.IF_MATCH, "\"4\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(savedEmployee)));
+
+        // then - verify the output
+        response.andExpect(status().isPreconditionFailed())
+                .andDo(print());
+        verify(employeeService).updateEmployee(argThat(employee -> employee.getVersion() == 4));
+    }
+
+    @Test
+    @DisplayName("JUnit test for update employee REST API without If-Match racing another writer")
+    public void givenConcurrentUpdateWithoutIfMatch_whenUpdateEmployee_thenRetryOnFreshCopy() throws Exception{
+        // given - precondition or setup
+        long employeeId = 1L;
+        Employee staleEmployee = Employee.builder().id(employeeId).firstname("Oguz").lastname("Karadag")
+                .email("karadagoguzkaan@gmail.com").version(5).build();
+        Employee freshEmployee = staleEmployee.toBuilder().lastname("KARADAG").version(6).build();
+        Employee updatedEmployee = Employee.builder().firstname("Selcuk").lastname("Karadag")
+                .email("karadagselcuk@gmail.com").build();
+        given(employeeService.getEmployeeById(employeeId))
+                .willReturn(Optional.of(staleEmployee))
+                .willReturn(Optional.of(freshEmployee));
+        given(employeeService.updateEmployee(any(Employee.class)))
+                .willThrow(new ObjectOptimisticLockingFailureException(Employee.class, employeeId))
+                .willAnswer(invocation -> invocation.<Employee>getArgument(0).toBuilder().version(7).build());
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmployee)));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7\""))
+                .andExpect(jsonPath("$.firstname", is("Selcuk")));
+        verify(employeeService, times(2)).updateEmployee(any(Employee.class));
+        verify(employeeService).updateEmployee(argThat(employee -> employee.getVersion() == 6));
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.example.spring_boot_testing.controller;
+
+import com.example.spring_boot_testing.dto.IngestStatus;
+import com.example.spring_boot_testing.ingest.EmployeeIngestQueue;
+import com.example.spring_boot_testing.model.Employee;
+import com.example.spring_boot_testing.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = {EmployeeController.class, EmployeeIngestController.class},
+        properties = "employee.ingest.mode=async")
+public class EmployeeIngestControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    @MockBean
+    private EmployeeIngestQueue ingestQueue;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Employee employee = Employee.builder()
+            .firstname("Oguz")
+            .lastname("KARADAG")
+            .email("karadagoguzkaan@gmail.com")
+            .build();
+
+    @Test
+    @DisplayName("JUnit test for queueing an employee in async ingest mode")
+    public void givenAsyncMode_whenCreateEmployee_thenReturnAcceptedWithTrackingId() throws Exception {
+        // given - precondition or setup
+        given(ingestQueue.submit(any(Employee.class))).willReturn(Optional.of(IngestStatus.queued("t-1")));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+        // then - verify the result or output using assert statements
+        response.andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/employees/ingest/t-1"))
+                .andExpect(jsonPath("$.trackingId", is("t-1")))
+                .andExpect(jsonPath("$.state", is("QUEUED")));
+        verify(employeeService, never()).saveEmployee(any(Employee.class));
+    }
+
+    @Test
+    @DisplayName("JUnit test for backpressure in async ingest mode")
+    public void givenFullQueue_whenCreateEmployee_thenReturnTooManyRequests() throws Exception {
+        // given - precondition or setup
+        given(ingestQueue.submit(any(Employee.class))).willReturn(Optional.empty());
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+        // then - verify the result or output using assert statements
+        response.andDo(print())
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    @DisplayName("JUnit test for Get ingest status REST API")
+    public void givenTrackingId_whenGetStatus_thenReturnStatus() throws Exception {
+        // given - precondition or setup
+        given(ingestQueue.status("t-1")).willReturn(Optional.of(new IngestStatus("t-1", IngestStatus.State.CREATED, 7L, null)));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/employees/ingest/{trackingId}", "t-1"));
+
+        // then - verify the result or output using assert statements
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state", is("CREATED")))
+                .andExpect(jsonPath("$.id", is(7)));
+        mockMvc.perform(get("/api/employees/ingest/{trackingId}", "unknown"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.spring_boot_testing.datasource;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class ConnectionPoolSaturationTests {
+
+    @Mock
+    private HikariPoolMXBean pool;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private Timer acquireTimer;
+
+    private ConnectionPoolSaturation saturation;
+
+    @BeforeEach
+    public void setup(){
+        meterRegistry = new SimpleMeterRegistry();
+        acquireTimer = Timer.builder(ConnectionPoolSaturation.ACQUIRE_TIMER).tag("pool", "primary").register(meterRegistry);
+        // a zero window resamples the timer on every check
+        saturation = new ConnectionPoolSaturation(meterRegistry, 5, Duration.ofMillis(100), Duration.ZERO);
+        saturation.register(() -> "primary", () -> pool);
+    }
+
+    @DisplayName("JUnit test for shedding on too many threads waiting for a connection")
+    @Test
+    public void givenManyPendingAcquisitions_whenChecked_thenOverloaded(){
+        // given - precondition or setup
+        given(pool.getThreadsAwaitingConnection()).willReturn(6);
+
+        // when -  action or the behaviour that we are going test
+        var overloaded = saturation.overloaded();
+
+        // then - verify the output
+        assertThat(overloaded).contains(ConnectionPoolSaturation.Reason.PENDING_ACQUISITIONS);
+    }
+
+    @DisplayName("JUnit test for shedding on slow connection acquisition and recovering afterwards")
+    @Test
+    public void givenSlowAcquisitions_whenChecked_thenOverloadedUntilWindowIsQuiet(){
+        // given - precondition or setup
+        given(pool.getThreadsAwaitingConnection()).willReturn(0);
+        saturation.overloaded();
+        acquireTimer.record(Duration.ofMillis(300));
+        acquireTimer.record(Duration.ofMillis(100));
+
+        // when -  action or the behaviour that we are going test
+        var slow = saturation.overloaded();
+        acquireTimer.record(Duration.ofMillis(20));
+        var recovered = saturation.overloaded();
+        var quiet = saturation.overloaded();
+
+        // then - verify the output
+        assertThat(slow).contains(ConnectionPoolSaturation.Reason.ACQUIRE_TIME);
+        assertThat(recovered).isEmpty();
+        assertThat(quiet).isEmpty();
+    }
+
+    @DisplayName("JUnit test for a pool that has not started yet")
+    @Test
+    public void givenPoolNotStarted_whenChecked_thenNotOverloaded(){
+        // given - precondition or setup
+        ConnectionPoolSaturation notStarted = new ConnectionPoolSaturation(meterRegistry, 0, Duration.ZERO, Duration.ZERO);
+        notStarted.register(() -> null, () -> null);
+
+        // when -  action or the behaviour that we are going test
+        var overloaded = notStarted.overloaded();
+
+        // then - verify the output
+        assertThat(overloaded).isEmpty();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.spring_boot_testing.event;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class EmployeeChangeRingTests {
+
+    private final EmployeeChangeRing ring = new EmployeeChangeRing(4);
+
+    @DisplayName("JUnit test for reading changes after a sequence")
+    @Test
+    public void givenPublishedChanges_whenReadAfter_thenChangesInOrder() {
+        // given - precondition or setup
+        for (long id = 1; id <= 3; id++) {
+            ring.publish(EmployeeChangedEvent.deleted(id));
+        }
+
+        // when -  action or the behaviour that we are going test
+        List<EmployeeChangeRing.Change> changes = ring.readAfter(1, 10);
+
+        // then - verify the output
+        assertThat(changes).extracting(EmployeeChangeRing.Change::sequence).containsExactly(2L, 3L);
+        assertThat(changes).extracting(change -> change.event().id()).containsExactly(2L, 3L);
+        assertThat(ring.readAfter(3, 10)).isEmpty();
+        assertThat(ring.readAfter(0, 2)).hasSize(2);
+    }
+
+    @DisplayName("JUnit test for a reader that fell more than a ring behind")
+    @Test
+    public void givenOverwrittenChanges_whenReadAfter_thenNull() {
+        // given - precondition or setup
+        for (long id = 1; id <= 6; id++) {
+            ring.publish(EmployeeChangedEvent.deleted(id));
+        }
+
+        // when -  action or the behaviour that we are going test
+        List<EmployeeChangeRing.Change> lost = ring.readAfter(1, 10);
+        List<EmployeeChangeRing.Change> kept = ring.readAfter(2, 10);
+
+        // then - verify the output
+        assertThat(lost).isNull();
+        assertThat(kept).extracting(EmployeeChangeRing.Change::sequence).containsExactly(3L, 4L, 5L, 6L);
+        // a sequence from the future, e.g. handed out before a restart
+        assertThat(ring.readAfter(7, 10)).isNull();
+    }
+
+    @DisplayName("JUnit test for concurrent publishers")
+    @Test
+    public void givenConcurrentPublishers_whenPublish_thenEverySequenceStoredOnce() throws InterruptedException {
+        // given - precondition or setup
+        EmployeeChangeRing large = new EmployeeChangeRing(1 << 14);
+        Thread[] publishers = new Thread[4];
+        for (int i = 0; i < publishers.length; i++) {
+            publishers[i] = new Thread(() -> {
+                for (int n = 0; n < 1000; n++) {
+                    large.publish(EmployeeChangedEvent.deleted(n));
+                }
+            });
+        }
+
+        // when -  action or the behaviour that we are going test
+        for (Thread publisher : publishers) {
+            publisher.start();
+        }
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+
+        // then - verify the output
+        assertThat(large.lastSequence()).isEqualTo(4000);
+        assertThat(large.readAfter(0, 5000)).hasSize(4000);
+        assertThatThrownBy(() -> new EmployeeChangeRing(3)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
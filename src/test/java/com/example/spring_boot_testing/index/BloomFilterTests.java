@@ -0,0 +1,34 @@
+package com.example.spring_boot_testing.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BloomFilterTests {
+
+    @DisplayName("JUnit test for Bloom filter membership")
+    @Test
+    public void givenAddedEmails_whenMightContain_thenNoFalseNegatives(){
+        // given - precondition or setup
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("employee" + i + "@example.com");
+        }
+
+        // when -  action or the behaviour that we are going test
+        int falsePositives = 0;
+        for (int i = 10_000; i < 20_000; i++) {
+            if (filter.mightContain("employee" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+
+        // then - verify the output
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("employee" + i + "@example.com")).isTrue();
+        }
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.example.spring_boot_testing.index;
+
+import com.example.spring_boot_testing.dto.EmployeeSuggestion;
+import com.example.spring_boot_testing.event.EmployeeChangedEvent;
+import com.example.spring_boot_testing.model.Employee;
+import com.example.spring_boot_testing.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class EmployeeNameIndexTests {
+
+    private EmployeeNameIndex index;
+
+    @BeforeEach
+    public void setup(){
+        index = new EmployeeNameIndex(mock(EmployeeRepository.class));
+        index.put(1L, "Oguz Kaan", "Karadag");
+        index.put(2L, "Ramesh", "Fadatare");
+        index.put(3L, "Kara", "Özdemir");
+    }
+
+    @DisplayName("JUnit test for prefix search over first, last and full names")
+    @Test
+    public void givenIndexedEmployees_whenSearch_thenMatchAnyNamePrefix(){
+        // when -  action or the behaviour that we are going test
+        List<Long> byLastname = ids(index.search("kara", 10));
+        List<Long> byFullName = ids(index.search("Oguz Kaan K", 10));
+        List<Long> withoutAccents = ids(index.search("ozd", 10));
+
+        // then - verify the output
+        assertThat(byLastname).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(byFullName).containsExactly(1L);
+        assertThat(withoutAccents).containsExactly(3L);
+        assertThat(index.search("kara", 1)).hasSize(1);
+        assertThat(index.search(" ", 10)).isEmpty();
+    }
+
+    @DisplayName("JUnit test for keeping the index current from change events")
+    @Test
+    public void givenChangeEvents_whenSearch_thenReflectLatestNames(){
+        // when -  action or the behaviour that we are going test
+        index.onEmployeeChanged(EmployeeChangedEvent.updated(2L, Employee.builder().lastname("Stark").build()));
+        index.onEmployeeChanged(EmployeeChangedEvent.deleted(1L));
+
+        // then - verify the output
+        assertThat(index.search("fadatare", 10)).isEmpty();
+        assertThat(index.search("stark", 10))
+                .containsExactly(new EmployeeSuggestion(2L, "Ramesh", "Stark"));
+        assertThat(ids(index.search("kara", 10))).containsExactly(3L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @DisplayName("JUnit test for building the index from the table")
+    @Test
+    public void givenUpdateDuringBuild_whenBuild_thenKeepNewerEventState(){
+        // given - precondition or setup
+        EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+        EmployeeNameIndex index = new EmployeeNameIndex(employeeRepository);
+        // the update commits while the page is being read, and the page still has the old name
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).willAnswer(invocation -> {
+            index.onEmployeeChanged(EmployeeChangedEvent.updated(2L,
+                    Employee.builder().id(2L).firstname("Bruce").lastname("Wayne").email("bruce@gmail.com").build()));
+            return List.of(
+                    Employee.builder().id(1L).firstname("Tony").lastname("Stark").email("tony@gmail.com").build(),
+                    Employee.builder().id(2L).firstname("Bruce").lastname("Banner").email("bruce@gmail.com").build());
+        });
+
+        // when -  action or the behaviour that we are going test
+        index.start();
+
+        // then - verify the output
+        assertThat(index.isRunning()).isTrue();
+        assertThat(ids(index.search("st", 10))).containsExactly(1L);
+        assertThat(index.search("banner", 10)).isEmpty();
+        assertThat(ids(index.search("wayne", 10))).containsExactly(2L);
+    }
+
+    @DisplayName("JUnit test for a row deleted while the index is built")
+    @Test
+    public void givenDeleteDuringBuild_whenBuild_thenNoGhostEntry(){
+        // given - precondition or setup
+        EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+        EmployeeNameIndex index = new EmployeeNameIndex(employeeRepository);
+        // the page was read before the delete committed, so it still has the row
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).willAnswer(invocation -> {
+            List<Employee> page = List.of(
+                    Employee.builder().id(1L).firstname("Tony").lastname("Stark").email("tony@gmail.com").build(),
+                    Employee.builder().id(2L).firstname("Bruce").lastname("Banner").email("bruce@gmail.com").build());
+            index.onEmployeeChanged(EmployeeChangedEvent.deleted(2L));
+            return page;
+        });
+
+        // when -  action or the behaviour that we are going test
+        index.build();
+
+        // then - verify the output
+        assertThat(index.search("banner", 10)).isEmpty();
+        assertThat(ids(index.search("stark", 10))).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    private static List<Long> ids(List<EmployeeSuggestion> suggestions) {
+        return suggestions.stream().map(EmployeeSuggestion::id).toList();
+    }
+
+}
@@ -0,0 +1,143 @@
+package com.example.spring_boot_testing.index;
+
+import com.example.spring_boot_testing.dto.EmployeeSearchHit;
+import com.example.spring_boot_testing.dto.EmployeeSearchPage;
+import com.example.spring_boot_testing.event.EmployeeChangedEvent;
+import com.example.spring_boot_testing.model.Employee;
+import com.example.spring_boot_testing.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class EmployeeSearchIndexTests {
+
+    private EmployeeSearchIndex index;
+
+    @BeforeEach
+    public void setup(){
+        index = new EmployeeSearchIndex(mock(EmployeeRepository.class), 2);
+        index.onEmployeeChanged(EmployeeChangedEvent.created(employee(1L, "Oguz Kaan", "Karadag", "karadagoguzkaan@gmail.com")));
+        index.onEmployeeChanged(EmployeeChangedEvent.created(employee(2L, "Kara", "Özdemir", "kara.ozdemir@example.com")));
+        index.onEmployeeChanged(EmployeeChangedEvent.created(employee(3L, "Tony", "Stark", "tony@stark.com")));
+        index.onEmployeeChanged(EmployeeChangedEvent.created(employee(4L, "Karadagli", "Yilmaz", "ky@example.com")));
+    }
+
+    @DisplayName("JUnit test for ranking exact, prefix and fuzzy matches")
+    @Test
+    public void givenIndexedEmployees_whenSearch_thenExactBeforePrefixBeforeFuzzy(){
+        // when -  action or the behaviour that we are going test
+        EmployeeSearchPage exact = index.search("karadag", 0, 10);
+        EmployeeSearchPage typo = index.search("karadga", 0, 10);
+        EmployeeSearchPage twoWords = index.search("tony STARK", 0, 10);
+        EmployeeSearchPage byEmail = index.search("ozdemir@example", 0, 10);
+
+        // then - verify the output
+        assertThat(ids(exact)).containsExactly(1L, 4L);
+        assertThat(exact.hits().get(0).score()).isGreaterThan(exact.hits().get(1).score());
+        assertThat(ids(typo)).startsWith(1L);
+        assertThat(ids(twoWords)).containsExactly(3L);
+        assertThat(ids(byEmail)).containsExactly(2L);
+        assertThat(index.search("kara zzz", 0, 10).total()).isZero();
+        assertThat(index.search(" ", 0, 10).hits()).isEmpty();
+    }
+
+    @DisplayName("JUnit test for a short name searched last name first and with a typo")
+    @Test
+    public void givenShortNames_whenSearchSwappedWithTypo_thenFound(){
+        // given - precondition or setup
+        index.onEmployeeChanged(EmployeeChangedEvent.created(employee(5L, "Tom", "Lee", "tom.lee@example.com")));
+        index.onEmployeeChanged(EmployeeChangedEvent.created(employee(6L, "Tim", "Lee", "tim.lee@example.com")));
+
+        // when -  action or the behaviour that we are going test
+        EmployeeSearchPage swapped = index.search("lee tom", 0, 10);
+        EmployeeSearchPage typo = index.search("lee tmo", 0, 10);
+        EmployeeSearchPage shortTypo = index.search("tmo", 0, 10);
+
+        // then - verify the output
+        assertThat(ids(swapped)).startsWith(5L);
+        assertThat(ids(typo)).startsWith(5L);
+        assertThat(ids(shortTypo)).startsWith(5L);
+        assertThat(index.search("lee zzz", 0, 10).total()).isZero();
+    }
+
+    @DisplayName("JUnit test for paging through search hits")
+    @Test
+    public void givenManyMatches_whenSearchWithOffset_thenPagesInRankOrder(){
+        // when -  action or the behaviour that we are going test
+        EmployeeSearchPage first = index.search("kara", 0, 2);
+        EmployeeSearchPage second = index.search("kara", 2, 2);
+
+        // then - verify the output
+        assertThat(first.total()).isEqualTo(3);
+        assertThat(first.hits()).hasSize(2);
+        // the exact first name outranks both prefixes
+        assertThat(first.hits().get(0).id()).isEqualTo(2L);
+        assertThat(second.hits()).hasSize(1);
+        assertThat(ids(first)).doesNotContainAnyElementsOf(ids(second));
+    }
+
+    @DisplayName("JUnit test for keeping the search index current from change events")
+    @Test
+    public void givenChangeEvents_whenSearch_thenReflectLatestState(){
+        // when -  action or the behaviour that we are going test
+        index.onEmployeeChanged(EmployeeChangedEvent.updated(3L, Employee.builder().lastname("Potts").build()));
+        index.onEmployeeChanged(EmployeeChangedEvent.deleted(1L));
+
+        // then - verify the output
+        assertThat(index.search("stark", 0, 10).hits()).extracting(EmployeeSearchHit::id).containsExactly(3L);
+        assertThat(index.search("tony potts", 0, 10).hits())
+                .singleElement()
+                .extracting(EmployeeSearchHit::email)
+                .isEqualTo("tony@stark.com");
+        assertThat(ids(index.search("karadag", 0, 10))).containsExactly(4L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @DisplayName("JUnit test for building the search index from the table on several threads")
+    @Test
+    public void givenTableRows_whenRebuild_thenEveryPageIndexed(){
+        // given - precondition or setup
+        EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class))).willAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            int size = invocation.<Limit>getArgument(1).max();
+            List<Employee> page = new ArrayList<>();
+            for (long id = after + 1; id <= Math.min(after + size, 2500); id++) {
+                page.add(employee(id, "First" + id, "Last" + id % 100, "employee" + id + "@example.com"));
+            }
+            return page;
+        });
+        EmployeeSearchIndex built = new EmployeeSearchIndex(employeeRepository, 3);
+
+        // when -  action or the behaviour that we are going test
+        built.start();
+
+        // then - verify the output
+        assertThat(built.isRunning()).isTrue();
+        assertThat(built.size()).isEqualTo(2500);
+        assertThat(ids(built.search("first2345", 0, 10))).startsWith(2345L);
+        // the 25 exact last names first, then those one edit away such as Last4 and Last43
+        EmployeeSearchPage lastnames = built.search("last42", 0, 25);
+        assertThat(lastnames.hits()).extracting(EmployeeSearchHit::lastname).containsOnly("Last42");
+        assertThat(lastnames.total()).isGreaterThan(25);
+        assertThat(ids(built.search("employee2500", 0, 1))).containsExactly(2500L);
+    }
+
+    private static List<Long> ids(EmployeeSearchPage page) {
+        return page.hits().stream().map(EmployeeSearchHit::id).toList();
+    }
+
+    private static Employee employee(long id, String firstname, String lastname, String email) {
+        return Employee.builder().id(id).firstname(firstname).lastname(lastname).email(email).build();
+    }
+}
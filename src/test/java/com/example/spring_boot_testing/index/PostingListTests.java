@@ -0,0 +1,70 @@
+package com.example.spring_boot_testing.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PostingListTests {
+
+    @DisplayName("JUnit test for encoding ids with small and large gaps")
+    @Test
+    public void givenSortedIds_whenEncoded_thenDecodedInOrderAndCompact(){
+        // given - precondition or setup
+        long[] ids = new long[1000];
+        for (int i = 0; i < 999; i++) {
+            ids[i] = i + 1;
+        }
+        ids[999] = Long.MAX_VALUE;
+
+        // when -  action or the behaviour that we are going test
+        PostingList postings = PostingList.of(ids, ids.length);
+
+        // then - verify the output
+        assertThat(postings.toArray()).containsExactly(ids);
+        assertThat(postings.size()).isEqualTo(1000);
+        // one byte per gap of 1, nine for the jump to Long.MAX_VALUE
+        assertThat(postings.sizeInBytes()).isEqualTo(999 + 9);
+    }
+
+    @DisplayName("JUnit test for adding and removing ids without re-encoding the list")
+    @Test
+    public void givenChanges_whenWithAndWithout_thenMergedInOrder(){
+        // given - precondition or setup
+        PostingList postings = PostingList.of(new long[]{10, 20, 30}, 3);
+
+        // when -  action or the behaviour that we are going test
+        postings = postings.with(25).with(5).without(20).with(40).without(25).with(20);
+
+        // then - verify the output
+        assertThat(postings.toArray()).containsExactly(5, 10, 20, 30, 40);
+        assertThat(PostingList.EMPTY.with(7).without(7).isEmpty()).isTrue();
+    }
+
+    @DisplayName("JUnit test for posting lists staying correct across compactions")
+    @Test
+    public void givenManyRandomChanges_whenApplied_thenMatchesReferenceSet(){
+        // given - precondition or setup
+        TreeSet<Long> expected = new TreeSet<>();
+        PostingList postings = PostingList.EMPTY;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        // when -  action or the behaviour that we are going test
+        for (int i = 0; i < 20_000; i++) {
+            long id = random.nextLong(1, 2_000);
+            if (expected.add(id)) {
+                postings = postings.with(id);
+            } else {
+                expected.remove(id);
+                postings = postings.without(id);
+            }
+        }
+
+        // then - verify the output
+        assertThat(postings.toArray()).containsExactly(expected.stream().mapToLong(Long::longValue).toArray());
+        assertThat(postings.size()).isEqualTo(expected.size());
+    }
+}
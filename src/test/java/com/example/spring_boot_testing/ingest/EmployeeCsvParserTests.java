@@ -0,0 +1,135 @@
+package com.example.spring_boot_testing.ingest;
+
+import com.example.spring_boot_testing.model.Employee;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class EmployeeCsvParserTests {
+
+    @TempDir
+    private Path directory;
+
+    private final List<Employee> rows = new ArrayList<>();
+    private final List<String> rejects = new ArrayList<>();
+
+    @DisplayName("JUnit test for parsing quoted, reordered and CRLF-terminated CSV rows")
+    @Test
+    public void givenQuotedFieldsAndReorderedColumns_whenParse_thenEmployeesBuilt() throws IOException {
+        // given - precondition or setup
+        Path file = csv("\uFEFFemail,last_name,first_name\r\n"
+                + "tony@stark.com,Stark,Tony\r\n"
+                + "\"pepper@stark.com\",\"Potts, Virginia\",\" Pepper \"\r\n"
+                + "\r\n"
+                + "jarvis@stark.com,\"The \"\"AI\"\"\",J\u00E4rvis");
+
+        // when -  action or the behaviour that we are going test
+        parse(file);
+
+        // then - verify the output
+        assertThat(rejects).isEmpty();
+        assertThat(rows).extracting(Employee::getFirstname).containsExactly("Tony", "Pepper", "J\u00E4rvis");
+        assertThat(rows).extracting(Employee::getLastname).containsExactly("Stark", "Potts, Virginia", "The \"AI\"");
+        assertThat(rows).extracting(Employee::getEmail).containsExactly("tony@stark.com", "pepper@stark.com", "jarvis@stark.com");
+    }
+
+    @DisplayName("JUnit test for rejecting invalid CSV rows with their byte offsets")
+    @Test
+    public void givenInvalidRows_whenParse_thenRejectedWithOffsets() throws IOException {
+        // given - precondition or setup
+        String header = "firstname,lastname,email\n";
+        String malformed = "Tony,Stark\n";
+        String missing = "Tony, ,tony@stark.com\n";
+        String invalidEmail = "Tony,Stark,tony.stark.com\n";
+        String unterminated = "\"Tony,Stark,tony@stark.com\n";
+        String tooLong = "Tony," + "S".repeat(EmployeeCsvParser.MAX_FIELD + 1) + ",tony@stark.com\n";
+        Path file = csv(header + malformed + missing + invalidEmail + unterminated + tooLong);
+
+        // when -  action or the behaviour that we are going test
+        parse(file);
+
+        // then - verify the output
+        long offset = header.length();
+        assertThat(rows).isEmpty();
+        assertThat(rejects).containsExactly(
+                offset + ":MALFORMED",
+                (offset += malformed.length()) + ":MISSING_FIELD",
+                (offset += missing.length()) + ":INVALID_EMAIL",
+                (offset += invalidEmail.length()) + ":MALFORMED",
+                (offset + unterminated.length()) + ":TOO_LONG");
+    }
+
+    @DisplayName("JUnit test for splitting a CSV file on line boundaries")
+    @Test
+    public void givenSplitPosition_whenNextLineStart_thenSlicesCoverEveryRowOnce() throws IOException {
+        // given - precondition or setup
+        StringBuilder content = new StringBuilder("firstname,lastname,email\n");
+        for (int i = 0; i < 100; i++) {
+            content.append("First").append(i).append(",Last").append(i).append(",employee").append(i).append("@example.com\n");
+        }
+        Path file = csv(content.toString());
+
+        // when -  action or the behaviour that we are going test
+        try (FileChannel channel = FileChannel.open(file)) {
+            EmployeeCsvParser.Header header = EmployeeCsvParser.readHeader(channel);
+            long middle = EmployeeCsvParser.nextLineStart(channel, channel.size() / 2, header.dataStart());
+            new EmployeeCsvParser(header).parse(channel, header.dataStart(), middle, sink());
+            new EmployeeCsvParser(header).parse(channel, middle, channel.size(), sink());
+        }
+
+        // then - verify the output
+        assertThat(rejects).isEmpty();
+        assertThat(rows).hasSize(100);
+        assertThat(rows).extracting(Employee::getEmail).doesNotHaveDuplicates();
+    }
+
+    @DisplayName("JUnit test for a CSV header without the required columns")
+    @Test
+    public void givenHeaderWithoutEmail_whenReadHeader_thenThrowsException() throws IOException {
+        // given - precondition or setup
+        Path file = csv("firstname,lastname\nTony,Stark\n");
+
+        // when -  action or the behaviour that we are going test
+        try (FileChannel channel = FileChannel.open(file)) {
+            // then - verify the output
+            assertThatThrownBy(() -> EmployeeCsvParser.readHeader(channel))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private void parse(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file)) {
+            EmployeeCsvParser.Header header = EmployeeCsvParser.readHeader(channel);
+            new EmployeeCsvParser(header).parse(channel, header.dataStart(), channel.size(), sink());
+        }
+    }
+
+    private EmployeeCsvParser.Sink sink() {
+        return new EmployeeCsvParser.Sink() {
+            @Override
+            public void row(Employee employee, long offset, int length) {
+                rows.add(employee);
+            }
+
+            @Override
+            public void reject(long offset, int length, EmployeeCsvParser.Reject reason) {
+                rejects.add(offset + ":" + reason);
+            }
+        };
+    }
+
+    private Path csv(String content) throws IOException {
+        return Files.writeString(directory.resolve("employees.csv"), content, StandardCharsets.UTF_8);
+    }
+}
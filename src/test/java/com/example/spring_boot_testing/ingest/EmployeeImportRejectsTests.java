@@ -0,0 +1,70 @@
+package com.example.spring_boot_testing.ingest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeImportRejectsTests {
+
+    @TempDir
+    private Path directory;
+
+    @DisplayName("JUnit test for downloading a registered reject file")
+    @Test
+    public void givenRegisteredFile_whenFind_thenFileReturned() throws IOException {
+        // given - precondition or setup
+        EmployeeImportRejects rejects = new EmployeeImportRejects(Duration.ofHours(1));
+        Path file = Files.writeString(directory.resolve("rejects.csv"), "offset,reason,row\n");
+
+        // when -  action or the behaviour that we are going test
+        String importId = rejects.register(file);
+
+        // then - verify the output
+        assertThat(rejects.find(importId)).contains(file);
+        assertThat(rejects.find("no-such-import")).isEmpty();
+    }
+
+    @DisplayName("JUnit test for reject files outliving their ttl")
+    @Test
+    public void givenExpiredFile_whenTtlPassed_thenFileDeleted() throws Exception {
+        // given - precondition or setup
+        EmployeeImportRejects rejects = new EmployeeImportRejects(Duration.ofMillis(50));
+        Path file = Files.writeString(directory.resolve("rejects.csv"), "offset,reason,row\n");
+
+        // when -  action or the behaviour that we are going test
+        String importId = rejects.register(file);
+
+        // then - verify the output
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (Files.exists(file) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(file).doesNotExist();
+        assertThat(rejects.find(importId)).isEmpty();
+    }
+
+    @DisplayName("JUnit test for reject files left over at shutdown")
+    @Test
+    public void givenRegisteredFiles_whenClear_thenFilesDeleted() throws IOException {
+        // given - precondition or setup
+        EmployeeImportRejects rejects = new EmployeeImportRejects(Duration.ofHours(1));
+        Path first = Files.writeString(directory.resolve("first.csv"), "offset,reason,row\n");
+        Path second = Files.writeString(directory.resolve("second.csv"), "offset,reason,row\n");
+        rejects.register(first);
+        rejects.register(second);
+
+        // when -  action or the behaviour that we are going test
+        rejects.clear();
+
+        // then - verify the output
+        assertThat(first).doesNotExist();
+        assertThat(second).doesNotExist();
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.spring_boot_testing.ingest;
+
+import com.example.spring_boot_testing.dto.EmployeeBatchResult;
+import com.example.spring_boot_testing.dto.IngestStatus;
+import com.example.spring_boot_testing.exception.DuplicateEmployeeException;
+import com.example.spring_boot_testing.model.Employee;
+import com.example.spring_boot_testing.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeIngestQueueTests {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private EmployeeIngestQueue ingestQueue;
+
+    @BeforeEach
+    public void setup(){
+        ingestQueue = new EmployeeIngestQueue(employeeService, 3, 500, Duration.ofMinutes(1));
+    }
+
+    @DisplayName("JUnit test for backpressure when the ingest queue is full")
+    @Test
+    public void givenFullQueue_whenSubmit_thenRejected() throws InterruptedException {
+        // given - precondition or setup
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // the writer blocks on the first batch, so the queue itself fills up behind it
+        willAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return created(invocation.getArgument(0));
+        }).given(employeeService).saveEmployees(anyList());
+        ingestQueue.start();
+        ingestQueue.submit(employee(0));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when -  action or the behaviour that we are going test
+        List<Optional<IngestStatus>> accepted = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            accepted.add(ingestQueue.submit(employee(i)));
+        }
+
+        // then - verify the output
+        assertThat(accepted.subList(0, 3)).allMatch(Optional::isPresent);
+        assertThat(accepted.get(3)).isEmpty();
+        release.countDown();
+        ingestQueue.stop();
+    }
+
+    @DisplayName("JUnit test for draining queued employees on shutdown")
+    @Test
+    public void givenQueuedEmployees_whenStop_thenAllWritten(){
+        // given - precondition or setup
+        given(employeeService.saveEmployees(anyList()))
+                .willAnswer(invocation -> created(invocation.getArgument(0)));
+        ingestQueue.start();
+        // stop right after queueing, so most of these are still waiting when shutdown begins
+        List<IngestStatus> queued = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            queued.add(ingestQueue.submit(employee(i)).orElseThrow());
+        }
+
+        // when -  action or the behaviour that we are going test
+        ingestQueue.stop();
+
+        // then - verify the output
+        assertThat(ingestQueue.size()).isZero();
+        assertThat(ingestQueue.submit(employee(9))).isEmpty();
+        for (IngestStatus status : queued) {
+            assertThat(ingestQueue.status(status.trackingId()))
+                    .get()
+                    .extracting(IngestStatus::state)
+                    .isEqualTo(IngestStatus.State.CREATED);
+        }
+    }
+
+    @DisplayName("JUnit test for submitting while the ingest queue shuts down")
+    @Test
+    public void givenConcurrentSubmitters_whenStop_thenEveryAcceptedEmployeeFinished() throws InterruptedException {
+        // given - precondition or setup
+        given(employeeService.saveEmployees(anyList()))
+                .willAnswer(invocation -> created(invocation.getArgument(0)));
+        for (int round = 0; round < 50; round++) {
+            EmployeeIngestQueue shuttingDown = new EmployeeIngestQueue(employeeService, 10_000, 500, Duration.ofMinutes(1));
+            shuttingDown.start();
+            List<IngestStatus> accepted = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch submitting = new CountDownLatch(4);
+            List<Thread> submitters = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int offset = t * 100_000;
+                submitters.add(Thread.ofPlatform().start(() -> {
+                    submitting.countDown();
+                    // keeps going until the queue turns it away, so some submits overlap the shutdown
+                    for (int i = offset; ; i++) {
+                        Optional<IngestStatus> status = shuttingDown.submit(employee(i));
+                        if (status.isEmpty()) {
+                            return;
+                        }
+                        accepted.add(status.get());
+                    }
+                }));
+            }
+            assertThat(submitting.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // when -  action or the behaviour that we are going test
+            shuttingDown.stop();
+            for (Thread submitter : submitters) {
+                submitter.join();
+            }
+
+            // then - verify the output
+            assertThat(accepted).isNotEmpty();
+            for (IngestStatus status : accepted) {
+                assertThat(shuttingDown.status(status.trackingId()))
+                        .get()
+                        .extracting(IngestStatus::state)
+                        .isNotEqualTo(IngestStatus.State.QUEUED);
+            }
+        }
+    }
+
+    @DisplayName("JUnit test for a failed batch being retried one by one")
+    @Test
+    public void givenFailingBatch_whenWritten_thenEachEmployeeGetsItsOwnStatus(){
+        // given - precondition or setup
+        Employee first = employee(1);
+        Employee second = employee(2);
+        given(employeeService.saveEmployees(anyList())).willThrow(new DataIntegrityViolationException("uk_employees_email"));
+        given(employeeService.saveEmployee(first)).willAnswer(invocation -> {
+            first.setId(11L);
+            return first;
+        });
+        given(employeeService.saveEmployee(second)).willThrow(new DuplicateEmployeeException("Employee already exist with given email:" + second.getEmail()));
+        ingestQueue.start();
+        IngestStatus firstStatus = ingestQueue.submit(first).orElseThrow();
+        IngestStatus secondStatus = ingestQueue.submit(second).orElseThrow();
+
+        // when -  action or the behaviour that we are going test
+        ingestQueue.stop();
+
+        // then - verify the output
+        assertThat(ingestQueue.status(firstStatus.trackingId())).get()
+                .isEqualTo(new IngestStatus(firstStatus.trackingId(), IngestStatus.State.CREATED, 11L, null));
+        assertThat(ingestQueue.status(secondStatus.trackingId())).get()
+                .extracting(IngestStatus::state)
+                .isEqualTo(IngestStatus.State.DUPLICATE);
+    }
+
+    @DisplayName("JUnit test for validating a queued employee up front")
+    @Test
+    public void givenEmployeeWithoutEmail_whenValidate_thenRejected(){
+        // given - precondition or setup
+        Employee employee = Employee.builder().firstname("Oguz").lastname("KARADAG").build();
+
+        // when -  action or the behaviour that we are going test
+        String problem = EmployeeIngestQueue.validate(employee);
+
+        // then - verify the output
+        assertThat(problem).isNotNull();
+        assertThat(EmployeeIngestQueue.validate(employee(1))).isNull();
+    }
+
+    private static Employee employee(int i) {
+        return Employee.builder()
+                .firstname("Oguz" + i)
+                .lastname("KARADAG")
+                .email("oguz" + i + "@gmail.com")
+                .build();
+    }
+
+    private static List<EmployeeBatchResult> created(List<Employee> employees) {
+        List<EmployeeBatchResult> results = new ArrayList<>();
+        for (int i = 0; i < employees.size(); i++) {
+            results.add(EmployeeBatchResult.created(i, 100 + i, employees.get(i).getEmail()));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.spring_boot_testing.integration;
+
+import com.example.spring_boot_testing.index.EmployeeEmailFilter;
+import com.example.spring_boot_testing.model.Employee;
+import com.example.spring_boot_testing.repository.EmployeeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+public class EmployeeBatchInsertITests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeEmailFilter employeeEmailFilter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("JUnit I test for two batches sharing an email the filter has never seen")
+    public void givenOtherBatchInsertedSameNewEmail_whenCreateEmployees_thenOnlyThatRowIsDuplicate() throws Exception {
+        // given - precondition or setup
+        String email = "race-" + System.nanoTime() + "@stark.com";
+        assertThat(employeeEmailFilter.mightContain(email)).isFalse();
+        // the other batch commits after this one has asked the filter, so the filter cannot know about it yet
+        employeeRepository.save(Employee.builder().firstname("Tony").lastname("Stark").email(email).build());
+        List<Employee> batch = List.of(
+                Employee.builder().firstname("Pepper").lastname("Potts").email("pepper@stark.com").build(),
+                Employee.builder().firstname("Tony").lastname("Stark").email(email).build(),
+                Employee.builder().firstname("Happy").lastname("Hogan").email("happy@stark.com").build());
+
+        // when -  action or the behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/api/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[1].status", is("DUPLICATE")))
+                .andExpect(jsonPath("$[2].status", is("CREATED")));
+        assertThat(employeeRepository.count()).isEqualTo(3);
+        assertThat(employeeRepository.findByEmail("pepper@stark.com")).isPresent();
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.spring_boot_testing.integration;
+
+import com.example.spring_boot_testing.event.EmployeeChangeFeed;
+import com.example.spring_boot_testing.model.Employee;
+import com.example.spring_boot_testing.repository.EmployeeRepository;
+import com.example.spring_boot_testing.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the JCache regions are shared by every Hibernate instance in the JVM, so this context keeps out of them
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "employee.changes.buffer-size=4",
+        "employee.changes.heartbeat=200ms",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@ActiveProfiles("h2")
+@Timeout(30)
+public class EmployeeChangeFeedITests {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("JUnit I test for created, updated and deleted events on the change feed")
+    public void givenSubscriber_whenEmployeeChanged_thenEventsStreamedInOrder() throws Exception {
+        // given - precondition or setup
+        try (ChangeStream stream = subscribe(null)) {
+
+            // when -  action or the behaviour that we are going test
+            Employee employee = employeeService.saveEmployee(employee("tony@stark.com"));
+            employee.setLastname("Potts");
+            employeeService.updateEmployee(employee);
+            employeeService.deleteEmployee(employee.getId());
+
+            // then - verify the output
+            Event created = stream.next();
+            assertThat(created.name()).isEqualTo("created");
+            assertThat(created.data()).contains("\"id\":" + employee.getId(), "tony@stark.com");
+            Event updated = stream.next();
+            assertThat(updated.name()).isEqualTo("updated");
+            assertThat(updated.data()).contains("Potts");
+            assertThat(stream.next().name()).isEqualTo("deleted");
+        }
+    }
+
+    @Test
+    @DisplayName("JUnit I test for the updated event of a PATCH carrying the whole row")
+    public void givenSubscriber_whenEmployeePatched_thenUpdatedEventHasPatchedRow() throws Exception {
+        // given - precondition or setup
+        Employee employee = employeeService.saveEmployee(employee("tony@stark.com"));
+        try (ChangeStream stream = subscribe(null)) {
+
+            // when -  action or the behaviour that we are going test
+            employeeService.patchEmployee(employee.getId(), Employee.builder().lastname("Potts").build());
+
+            // then - verify the output
+            Event updated = stream.next();
+            assertThat(updated.name()).isEqualTo("updated");
+            assertThat(updated.data()).contains("\"id\":" + employee.getId(), "\"firstname\":\"Tony\"",
+                    "\"lastname\":\"Potts\"", "\"email\":\"tony@stark.com\"", "\"version\":1");
+        }
+    }
+
+    @Test
+    @DisplayName("JUnit I test for a bulk delete only streaming the employees that existed")
+    public void givenSubscriber_whenBulkDeleteWithMissingIds_thenDeletedEventsOnlyForExisting() throws Exception {
+        // given - precondition or setup
+        Employee tony = employeeService.saveEmployee(employee("tony@stark.com"));
+        Employee pepper = employeeService.saveEmployee(employee("pepper@stark.com"));
+        // more missing ids than the buffer holds, which would force a resync if each were announced
+        List<Long> ids = new ArrayList<>(List.of(tony.getId(), pepper.getId()));
+        LongStream.rangeClosed(1, 10).forEach(i -> ids.add(-i));
+        try (ChangeStream stream = subscribe(null)) {
+
+            // when -  action or the behaviour that we are going test
+            long deleted = employeeService.deleteEmployees(ids);
+            employeeService.saveEmployee(employee("happy@stark.com"));
+
+            // then - verify the output
+            assertThat(deleted).isEqualTo(2);
+            Event first = stream.next();
+            Event second = stream.next();
+            assertThat(List.of(first.name(), second.name())).containsOnly("deleted");
+            assertThat(first.data() + second.data()).contains(
+                    "\"id\":" + tony.getId(), "\"id\":" + pepper.getId());
+            Event created = stream.next();
+            assertThat(created.name()).isEqualTo("created");
+            assertThat(created.data()).contains("happy@stark.com");
+        }
+    }
+
+    @Test
+    @DisplayName("JUnit I test for resuming the change feed from Last-Event-ID")
+    public void givenLastEventId_whenReconnect_thenMissedEventsReplayed() throws Exception {
+        // given - precondition or setup
+        String lastEventId;
+        try (ChangeStream stream = subscribe(null)) {
+            employeeService.saveEmployee(employee("tony@stark.com"));
+            lastEventId = stream.next().id();
+        }
+        employeeService.saveEmployee(employee("pepper@stark.com"));
+        employeeService.saveEmployee(employee("happy@stark.com"));
+
+        // when -  action or the behaviour that we are going test
+        try (ChangeStream stream = subscribe(lastEventId)) {
+
+            // then - verify the output
+            assertThat(stream.next().data()).contains("pepper@stark.com");
+            assertThat(stream.next().data()).contains("happy@stark.com");
+        }
+    }
+
+    @Test
+    @DisplayName("JUnit I test for a subscriber that fell behind the change feed buffer")
+    public void givenLastEventIdOutsideBuffer_whenReconnect_thenResync() throws Exception {
+        // given - precondition or setup
+        String lastEventId;
+        try (ChangeStream stream = subscribe(null)) {
+            employeeService.saveEmployee(employee("tony@stark.com"));
+            lastEventId = stream.next().id();
+        }
+        for (int i = 0; i < 5; i++) {
+            employeeService.saveEmployee(employee("employee" + i + "@stark.com"));
+        }
+
+        // when -  action or the behaviour that we are going test
+        try (ChangeStream stream = subscribe(lastEventId)) {
+
+            // then - verify the output
+            Event resync = stream.next();
+            assertThat(resync.name()).isEqualTo(EmployeeChangeFeed.RESYNC_EVENT);
+            assertThat(resync.id()).isNotEqualTo(lastEventId);
+            assertThat(stream.next()).isNull();
+        }
+        try (ChangeStream stream = subscribe("stale:1")) {
+            assertThat(stream.next().name()).isEqualTo(EmployeeChangeFeed.RESYNC_EVENT);
+        }
+    }
+
+    private ChangeStream subscribe(String lastEventId) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/employees/changes"))
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        HttpResponse<Stream<String>> response = client.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return new ChangeStream(response.body(), lastEventId == null);
+    }
+
+    private static Employee employee(String email) {
+        return Employee.builder().firstname("Tony").lastname("Stark").email(email).build();
+    }
+
+    private record Event(String id, String name, String data) {
+    }
+
+    private static final class ChangeStream implements AutoCloseable {
+
+        private final Stream<String> lines;
+        private final Iterator<String> iterator;
+
+        ChangeStream(Stream<String> lines, boolean awaitSubscribed) {
+            this.lines = lines;
+            this.iterator = lines.iterator();
+            // the first heartbeat proves the subscription is registered, so no change can slip past it
+            if (awaitSubscribed) {
+                while (iterator.hasNext() && !iterator.next().startsWith(":")) {
+                }
+            }
+        }
+
+        // the next event, skipping heartbeats; null once the server ends the stream
+        Event next() {
+            String id = null;
+            String name = null;
+            StringBuilder data = new StringBuilder();
+            while (iterator.hasNext()) {
+                String line = iterator.next();
+                if (line.isEmpty()) {
+                    if (name != null) {
+                        return new Event(id, name, data.toString());
+                    }
+                } else if (line.startsWith("id:")) {
+                    id = line.substring(3);
+                } else if (line.startsWith("event:")) {
+                    name = line.substring(6);
+                } else if (line.startsWith("data:")) {
+                    data.append(line.substring(5));
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() {
+            lines.close();
+        }
+    }
+}
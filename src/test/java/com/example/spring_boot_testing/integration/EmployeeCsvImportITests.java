@@ -0,0 +1,139 @@
+package com.example.spring_boot_testing.integration;
+
+import com.example.spring_boot_testing.model.Employee;
+import com.example.spring_boot_testing.repository.EmployeeRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// the JCache regions are shared by every Hibernate instance in the JVM, so this context keeps out of them
+@SpringBootTest(properties = {
+        "employee.import.parse-workers=2",
+        "employee.import.batch-size=3",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+public class EmployeeCsvImportITests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("JUnit I test for importing a CSV file with duplicates and invalid rows")
+    public void givenCsvWithBadRows_whenImport_thenValidRowsInsertedAndRestRejected() throws Exception {
+        // given - precondition or setup
+        employeeRepository.save(Employee.builder().firstname("Tony").lastname("Stark").email("tony@stark.com").build());
+        String csv = """
+                firstname,lastname,email
+                Tony,Stark,tony@stark.com
+                Pepper,Potts,pepper@stark.com
+                Happy,Hogan,happy@stark.com
+                Pepper,Again,pepper@stark.com
+                Rhodey,,rhodey@stark.com
+                Bruce,Banner,bruce@avengers.com
+                Natasha,Romanoff,natasha@avengers.com
+                """;
+
+        // when -  action or the behaviour that we are going test
+        MvcResult result = mockMvc.perform(post("/api/employees/import")
+                        .contentType("text/csv")
+                        .content(csv))
+
+                // then - verify the output
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(7))
+                .andExpect(jsonPath("$.created").value(4))
+                .andExpect(jsonPath("$.duplicates").value(2))
+                .andExpect(jsonPath("$.invalid").value(1))
+                .andExpect(jsonPath("$.rejectFile").doesNotExist())
+                .andReturn();
+
+        assertThat(employeeRepository.findAll()).extracting(Employee::getEmail).containsExactlyInAnyOrder(
+                "tony@stark.com", "pepper@stark.com", "happy@stark.com", "bruce@avengers.com", "natasha@avengers.com");
+        String importId = JsonPath.read(result.getResponse().getContentAsString(), "$.importId");
+        String body = mockMvc.perform(get("/api/employees/import/{importId}/rejects", importId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        List<String> rejects = body.lines().toList();
+        assertThat(rejects).hasSize(4);
+        assertThat(rejects.subList(1, 4)).containsExactlyInAnyOrder(
+                csv.indexOf("Tony,Stark") + ",DUPLICATE,Tony,Stark,tony@stark.com",
+                csv.indexOf("Pepper,Again") + ",DUPLICATE,Pepper,Again,pepper@stark.com",
+                csv.indexOf("Rhodey") + ",MISSING_FIELD,Rhodey,,rhodey@stark.com");
+    }
+
+    @Test
+    @DisplayName("JUnit I test for downloading the rejects of an unknown import")
+    public void givenUnknownImportId_whenGetRejects_thenNotFound() throws Exception {
+        // given - precondition or setup
+        String importId = "no-such-import";
+
+        // when -  action or the behaviour that we are going test
+        mockMvc.perform(get("/api/employees/import/{importId}/rejects", importId))
+
+                // then - verify the output
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("JUnit I test for importing a clean CSV file")
+    public void givenCleanCsv_whenImport_thenNoRejectFile() throws Exception {
+        // given - precondition or setup
+        String csv = "firstname,lastname,email\nTony,Stark,tony@stark.com\nPepper,Potts,pepper@stark.com\n";
+
+        // when -  action or the behaviour that we are going test
+        mockMvc.perform(post("/api/employees/import")
+                        .contentType("text/csv")
+                        .content(csv))
+
+                // then - verify the output
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.importId").doesNotExist());
+        assertThat(employeeRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("JUnit I test for importing a CSV file without the required header")
+    public void givenCsvWithoutHeader_whenImport_thenBadRequest() throws Exception {
+        // given - precondition or setup
+        String csv = "Tony,Stark,tony@stark.com\n";
+
+        // when -  action or the behaviour that we are going test
+        mockMvc.perform(post("/api/employees/import")
+                        .contentType("text/csv")
+                        .content(csv))
+
+                // then - verify the output
+                .andExpect(status().isBadRequest());
+        assertThat(employeeRepository.count()).isZero();
+    }
+}
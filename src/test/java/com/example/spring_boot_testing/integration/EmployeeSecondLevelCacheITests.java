@@ -0,0 +1,131 @@
+package com.example.spring_boot_testing.integration;
+
+import com.example.spring_boot_testing.model.Employee;
+import com.example.spring_boot_testing.repository.EmployeeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+public class EmployeeSecondLevelCacheITests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository.deleteAll();
+        employee = employeeRepository.save(Employee.builder()
+                .firstname("Oguz")
+                .lastname("KARADAG")
+                .email("karadagoguzkaan@gmail.com")
+                .build());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("JUnit I test for entity cache coherence after PUT")
+    public void givenCachedEmployee_whenUpdatedThroughController_thenCacheServesNewState() throws Exception {
+        // given - precondition or setup
+        employeeRepository.findById(employee.getId());
+        employeeRepository.findById(employee.getId());
+        long hits = regionHits(Employee.CACHE_REGION);
+        assertThat(hits).isPositive();
+
+        // when -  action or the behaviour that we are going test
+        Employee update = Employee.builder().firstname("Ram").lastname("Jadhav").email("ram@gmail.com").build();
+        mockMvc.perform(put("/api/employees/{id}", employee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+        long queries = statistics.getPrepareStatementCount();
+        Employee reloaded = employeeRepository.findById(employee.getId()).orElseThrow();
+
+        // then - verify the output
+        assertThat(reloaded.getFirstname()).isEqualTo("Ram");
+        assertThat(reloaded.getEmail()).isEqualTo("ram@gmail.com");
+        assertThat(reloaded.getVersion()).isEqualTo(employee.getVersion() + 1);
+        // the update wrote through to the region, so the read is a hit and not a SELECT
+        assertThat(regionHits(Employee.CACHE_REGION)).isGreaterThan(hits);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(queries);
+    }
+
+    @Test
+    @DisplayName("JUnit I test for query cache invalidation after PATCH")
+    public void givenCachedQuery_whenPatchedThroughController_thenQueryReflectsChange() throws Exception {
+        // given - precondition or setup
+        employeeRepository.findByLastnameLike("KARA%");
+        List<Employee> cached = employeeRepository.findByLastnameLike("KARA%");
+        assertThat(cached).hasSize(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        // when -  action or the behaviour that we are going test
+        mockMvc.perform(patch("/api/employees/{id}", employee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lastname\":\"Stark\"}"))
+                .andExpect(status().isNoContent());
+
+        // then - verify the output
+        assertThat(employeeRepository.findByLastnameLike("KARA%")).isEmpty();
+        assertThat(employeeRepository.findByLastnameLike("Sta%"))
+                .singleElement()
+                .extracting(Employee::getFirstname)
+                .isEqualTo("Oguz");
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("JUnit I test for cache coherence after DELETE")
+    public void givenCachedEmployee_whenDeletedThroughController_thenNotFoundAnymore() throws Exception {
+        // given - precondition or setup
+        assertThat(employeeRepository.findByEmail(employee.getEmail())).isPresent();
+        assertThat(employeeRepository.findById(employee.getId())).isPresent();
+
+        // when -  action or the behaviour that we are going test
+        mockMvc.perform(delete("/api/employees/{id}", employee.getId()))
+                .andExpect(status().isOk());
+
+        // then - verify the output
+        assertThat(employeeRepository.findByEmail(employee.getEmail())).isEmpty();
+        assertThat(employeeRepository.findById(employee.getId())).isEmpty();
+        assertThat(entityManagerFactory.getCache().contains(Employee.class, employee.getId())).isFalse();
+    }
+
+    private long regionHits(String region) {
+        return statistics.getDomainDataRegionStatistics(region).getHitCount();
+    }
+}
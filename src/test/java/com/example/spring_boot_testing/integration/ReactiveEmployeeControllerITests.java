@@ -0,0 +1,108 @@
+package com.example.spring_boot_testing.integration;
+
+import com.example.spring_boot_testing.model.Employee;
+import com.example.spring_boot_testing.repository.ReactiveEmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the whole reactive stack on Netty against H2 over R2DBC; a database of its own so JDBC tests cannot see it
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.r2dbc.url=r2dbc:h2:mem:///reactive-ems;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("reactive")
+public class ReactiveEmployeeControllerITests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveEmployeeRepository employeeRepository;
+
+    @BeforeEach
+    void setup(){
+        employeeRepository.deleteAll().block();
+    }
+
+    @Test
+    @DisplayName("Integration test for create, get, update and delete on the reactive stack")
+    public void givenEmployee_whenCrudOverWebFlux_thenSameContractAsServletApi(){
+        // given - precondition or setup
+        Employee employee = Employee.builder().firstname("Oguz").lastname("Karadag").email("karadagoguzkaan@gmail.com").build();
+
+        // when -  action or the behaviour that we are going test
+        Employee created = webTestClient.post().uri("/api/employees").bodyValue(employee)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Employee.class).returnResult().getResponseBody();
+
+        // then - verify the output
+        assertThat(created.getId()).isPositive();
+        assertThat(created.getVersion()).isZero();
+
+        webTestClient.post().uri("/api/employees").bodyValue(employee)
+                .exchange()
+                .expectStatus().isEqualTo(409);
+
+        webTestClient.get().uri("/api/employees/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo("karadagoguzkaan@gmail.com");
+
+        Employee update = Employee.builder().firstname("Oguz Kaan").lastname("Karadag").email("karadagoguzkaan@gmail.com").build();
+        webTestClient.put().uri("/api/employees/{id}", created.getId()).bodyValue(update)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.firstname").isEqualTo("Oguz Kaan")
+                .jsonPath("$.version").isEqualTo(1);
+
+        webTestClient.delete().uri("/api/employees/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.get().uri("/api/employees/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+        webTestClient.put().uri("/api/employees/{id}", created.getId()).bodyValue(update)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Integration test for streaming the employee list on the reactive stack")
+    public void givenEmployees_whenStreamAsNdjson_thenEveryEmployeeEmittedInIdOrder(){
+        // given - precondition or setup
+        for (int i = 0; i < 120; i++) {
+            webTestClient.post().uri("/api/employees")
+                    .bodyValue(Employee.builder().firstname("First" + i).lastname("Last").email("employee" + i + "@example.com").build())
+                    .exchange()
+                    .expectStatus().isCreated();
+        }
+
+        // when -  action or the behaviour that we are going test
+        Flux<Employee> employees = webTestClient.get().uri("/api/employees")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Employee.class).getResponseBody();
+
+        // then - verify the output
+        StepVerifier.create(employees.map(Employee::getFirstname).take(2))
+                .expectNext("First0", "First1")
+                .verifyComplete();
+        webTestClient.get().uri("/api/employees")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(120);
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.spring_boot_testing.integration;
+
+import com.example.spring_boot_testing.cache.EmployeeCache;
+import com.example.spring_boot_testing.datasource.ReplicaCacheModeJpaDialect;
+import com.example.spring_boot_testing.model.Employee;
+import com.example.spring_boot_testing.repository.EmployeeRepository;
+import com.example.spring_boot_testing.web.ReadYourWritesFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryInfo;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// two separate in-memory databases stand in for a primary and a replica that has not caught up yet;
+// the second-level cache is off so every read really reaches one of them
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ems-primary;DB_CLOSE_DELAY=-1",
+        "employee.datasource.replica.url=jdbc:h2:mem:ems-replica;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:db/replica-schema.sql'",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+public class ReadWriteRoutingITests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    private JdbcTemplate primary;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository.deleteAll();
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.update("DELETE FROM employees");
+    }
+
+    @Test
+    @DisplayName("JUnit I test for read-only requests being served by the replica")
+    public void givenRowOnlyOnReplica_whenGetAllEmployees_thenServedFromReplica() throws Exception {
+        // given - precondition or setup
+        replica.update("INSERT INTO employees (id, first_name, last_name, email, version) VALUES (1000, 'Tony', 'Stark', 'tony@gmail.com', 0)");
+
+        // when -  action or the behaviour that we are going test
+        mockMvc.perform(get("/api/employees"))
+
+        // then - verify the output
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].firstname", is("Tony")));
+        assertThat(primary.queryForObject("SELECT COUNT(*) FROM employees", Long.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("JUnit I test for reading your own writes from the primary")
+    public void givenEmployeeCreated_whenReadWithinWindow_thenPinnedToPrimary() throws Exception {
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstname("Oguz")
+                .lastname("KARADAG")
+                .email("karadagoguzkaan@gmail.com")
+                .build();
+        MvcResult created = mockMvc.perform(post("/api/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employee)))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(ReadYourWritesFilter.COOKIE_NAME))
+                .andReturn();
+        Cookie pin = created.getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+
+        // when -  action or the behaviour that we are going test
+        mockMvc.perform(get("/api/employees").cookie(pin))
+
+        // then - verify the output
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].email", is(employee.getEmail())));
+        // everyone else still reads the replica, which never saw the insert
+        mockMvc.perform(get("/api/employees"))
+                .andExpect(jsonPath("$.size()", is(0)));
+        mockMvc.perform(get("/api/employees").cookie(new Cookie(ReadYourWritesFilter.COOKIE_NAME, "0")))
+                .andExpect(jsonPath("$.size()", is(0)));
+    }
+
+    @Test
+    @DisplayName("JUnit I test for the employee cache not keeping what a lagging replica returned")
+    public void givenUpdateNotYetOnReplica_whenOtherClientReadsFirst_thenWriterStillReadsOwnWrite() throws Exception {
+        // given - precondition or setup
+        String row = "INSERT INTO employees (id, first_name, last_name, email, version) VALUES (2000, 'Tony', 'Stark', 'tony@gmail.com', 0)";
+        primary.update(row);
+        replica.update(row);
+        Employee update = Employee.builder().firstname("Anthony").lastname("Stark").email("tony@gmail.com").build();
+        MvcResult updated = mockMvc.perform(put("/api/employees/{id}", 2000)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk())
+                .andReturn();
+        Cookie pin = updated.getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+
+        // when -  action or the behaviour that we are going test
+        // another client misses the cache first, while the replica still has the old row
+        mockMvc.perform(get("/api/employees/{id}", 2000)).andExpect(status().isOk());
+
+        // then - verify the output
+        mockMvc.perform(get("/api/employees/{id}", 2000).cookie(pin))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.firstname", is("Anthony")));
+        assertThat(replica.queryForObject("SELECT first_name FROM employees WHERE id = 2000", String.class)).isEqualTo("Tony");
+        // and replica reads stay out of Hibernate's caches too
+        assertThat(((EntityManagerFactoryInfo) entityManagerFactory).getJpaDialect()).isInstanceOf(ReplicaCacheModeJpaDialect.class);
+    }
+
+    @Test
+    @DisplayName("JUnit I test for a conditional GET not filling the employee cache from the replica")
+    public void givenUpdateNotYetOnReplica_whenConditionalGetMissesCache_thenPrimaryRowCached() throws Exception {
+        // given - precondition or setup
+        String row = "INSERT INTO employees (id, first_name, last_name, email, version) VALUES (3000, 'Tony', 'Stark', 'tony@gmail.com', 0)";
+        primary.update(row);
+        replica.update(row);
+        Employee update = Employee.builder().firstname("Anthony").lastname("Stark").email("tony@gmail.com").build();
+        MvcResult updated = mockMvc.perform(put("/api/employees/{id}", 3000)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk())
+                .andReturn();
+        Cookie pin = updated.getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+
+        // when -  action or the behaviour that we are going test
+        // the version check reads the replica; the ETag does not match, so the same request goes on to load the row
+        mockMvc.perform(get("/api/employees/{id}", 3000).header(HttpHeaders.IF_NONE_MATCH, "\"7\""))
+                .andExpect(status().isOk());
+
+        // then - verify the output
+        assertThat(employeeCache.getIfPresent(3000)).hasValueSatisfying(cached -> {
+            assertThat(cached.getVersion()).isEqualTo(1);
+            assertThat(cached.getFirstname()).isEqualTo("Anthony");
+        });
+        mockMvc.perform(get("/api/employees/{id}", 3000).cookie(pin))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.firstname", is("Anthony")));
+    }
+
+    @Test
+    @DisplayName("JUnit I test for per-pool connection metrics")
+    public void givenBothPoolsUsed_whenMetricsRead_thenTaggedPerPool() throws Exception {
+        // when -  action or the behaviour that we are going test
+        mockMvc.perform(get("/api/employees")).andExpect(status().isOk());
+
+        // then - verify the output
+        assertThat(meterRegistry.get("hikaricp.connections.max").tag("pool", "primary").gauge().value()).isPositive();
+        assertThat(meterRegistry.get("hikaricp.connections.max").tag("pool", "replica").gauge().value()).isPositive();
+        assertThat(meterRegistry.get("hikaricp.connections.acquire").tag("pool", "replica").timer().count()).isPositive();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.spring_boot_testing.metrics;
+
+import com.example.spring_boot_testing.exception.DuplicateEmployeeException;
+import com.example.spring_boot_testing.model.Employee;
+import com.example.spring_boot_testing.repository.EmployeeRepository;
+import com.example.spring_boot_testing.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+@AutoConfigureObservability(tracing = false)
+public class EmployeeMetricsITests {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("JUnit I test for service and repository timers")
+    public void givenServiceCalls_whenRecorded_thenTimersPerOperationAndOutcome() {
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstname("Oguz")
+                .lastname("KARADAG")
+                .email("karadagoguzkaan@gmail.com")
+                .build();
+
+        // when -  action or the behaviour that we are going test
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+        employeeService.getEmployeeById(savedEmployee.getId());
+        assertThrows(DuplicateEmployeeException.class, () -> employeeService.saveEmployee(Employee.builder()
+                .firstname("Oguz")
+                .lastname("KARADAG")
+                .email("karadagoguzkaan@gmail.com")
+                .build()));
+
+        // then - verify the output
+        assertThat(count(EmployeeMetricsAspect.SERVICE_TIMER, "getEmployeeById", "success")).isEqualTo(1);
+        assertThat(count(EmployeeMetricsAspect.SERVICE_TIMER, "saveEmployee", "success")).isEqualTo(1);
+        assertThat(count(EmployeeMetricsAspect.SERVICE_TIMER, "saveEmployee", "error")).isEqualTo(1);
+        assertThat(count(EmployeeMetricsAspect.REPOSITORY_TIMER, "findById", "success")).isEqualTo(1);
+        assertThat(count(EmployeeMetricsAspect.REPOSITORY_TIMER, "findByEmail", "success")).isEqualTo(1);
+    }
+
+    private long count(String name, String operation, String outcome) {
+        return meterRegistry.get(name).tag("operation", operation).tag("outcome", outcome).timer().count();
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.spring_boot_testing.repository;
 
+import com.example.spring_boot_testing.dto.EmployeeListVersion;
+import com.example.spring_boot_testing.dto.EmployeeSummary;
+import com.example.spring_boot_testing.dto.EmployeeView;
 import com.example.spring_boot_testing.model.Employee;
 import org.assertj.core.api.Assertions;
 import org.hibernate.exception.ConstraintViolationException;
@@ -8,11 +11,14 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.test.context.jdbc.Sql;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -50,7 +56,7 @@ public class EmployeeRepositoryTest {
         Employee employee = Employee.builder()
                 .firstname("oguz")
                 .lastname("karadag")
-                .email("karadagoguzkaan@gmail.com")
+                .email("oguz.karadag@example.com")
                 .build();
 
 
@@ -63,7 +69,7 @@ public class EmployeeRepositoryTest {
         assertThat(savedEmployee.getId()).isGreaterThan(0);
         assertThat(savedEmployee.getFirstname()).isEqualTo("oguz");
         assertThat(savedEmployee.getLastname()).isEqualTo("karadag");
-        assertThat(savedEmployee.getEmail()).isEqualTo("karadagoguzkaan@gmail.com");
+        assertThat(savedEmployee.getEmail()).isEqualTo("oguz.karadag@example.com");
 
     }
     @Test
@@ -90,7 +96,7 @@ public class EmployeeRepositoryTest {
         Employee employee1 = Employee.builder()
                 .firstname("Oguz")
                 .lastname("Karadag")
-                .email("karadagoguzkaan@gmail.com")
+                .email("oguz.karadag@example.com")
                 .build();
         Employee employee2 = Employee.builder()
                 .firstname("John")
@@ -105,16 +111,17 @@ public class EmployeeRepositoryTest {
 
         // then - verify the output
         assertThat(employeeList).isNotNull();
-        assertThat(employeeList.size()).isEqualTo(2);
+        // the two employees from setUp come first
+        assertThat(employeeList.size()).isEqualTo(4);
         assertThat(employeeList).contains(employee1, employee2);
         // Verify the details of the first employee
-        Employee retrievedEmployee1 = employeeList.get(0);
+        Employee retrievedEmployee1 = employeeList.get(2);
         assertThat(retrievedEmployee1.getFirstname()).isEqualTo("Oguz");
         assertThat(retrievedEmployee1.getLastname()).isEqualTo("Karadag");
-        assertThat(retrievedEmployee1.getEmail()).isEqualTo("karadagoguzkaan@gmail.com");
+        assertThat(retrievedEmployee1.getEmail()).isEqualTo("oguz.karadag@example.com");
 
         // Verify the details of the second employee
-        Employee retrievedEmployee2 = employeeList.get(1);
+        Employee retrievedEmployee2 = employeeList.get(3);
         assertThat(retrievedEmployee2.getFirstname()).isEqualTo("John");
         assertThat(retrievedEmployee2.getLastname()).isEqualTo("Doe");
         assertThat(retrievedEmployee2.getEmail()).isEqualTo("john.doe@example.com");
@@ -127,7 +134,7 @@ public class EmployeeRepositoryTest {
         Employee employee = Employee.builder()
                 .firstname("Oguz")
                 .lastname("Karadag")
-                .email("karadagoguzkaan@gmail.com")
+                .email("oguz.karadag@example.com")
                 .build();
         employeeRepository.save(employee);
 
@@ -154,12 +161,12 @@ public class EmployeeRepositoryTest {
         Employee employee = Employee.builder()
                 .firstname("Oguz")
                 .lastname("Karadag")
-                .email("karadagoguzkaan@gmail.com")
+                .email("oguz.karadag@example.com")
                 .build();
         employeeRepository.save(employee);
 
         // when - action or behavior that we are going to test
-        Optional<Employee> foundEmployee = employeeRepository.findByEmail("karadagoguzkaan@gmail.com");
+        Optional<Employee> foundEmployee = employeeRepository.findByEmail("oguz.karadag@example.com");
 
         // then - verify the output
         assertThat(foundEmployee).isPresent();
@@ -175,7 +182,7 @@ public class EmployeeRepositoryTest {
         Employee employee = Employee.builder()
                 .firstname("Oguz")
                 .lastname("Karadag")
-                .email("karadagoguzkaan@gmail.com")
+                .email("oguz.karadag@example.com")
                 .build();
         employeeRepository.save(employee);
 
@@ -196,9 +203,9 @@ public class EmployeeRepositoryTest {
         assertThat(updatedEmployee.getLastname()).isEqualTo("UpdatedLastName");
         assertThat(updatedEmployee.getEmail()).isEqualTo("updated.email@example.com");
 
-        // Check that there is only one employee in the database
+        // Check that the update did not add a row next to the two employees from setUp
         long count = employeeRepository.count();
-        assertThat(count).isEqualTo(1);
+        assertThat(count).isEqualTo(3);
     }
     @Test
     @DisplayName("JUnit test for deleting employee")
@@ -207,7 +214,7 @@ public class EmployeeRepositoryTest {
         Employee employee = Employee.builder()
                 .firstname("Oguz")
                 .lastname("Karadag")
-                .email("karadagoguzkaan@gmail.com")
+                .email("oguz.karadag@example.com")
                 .build();
         employeeRepository.save(employee);
 
@@ -225,12 +232,12 @@ public class EmployeeRepositoryTest {
         Employee employee1 = Employee.builder()
                 .firstname("Oguz")
                 .lastname("Karadag")
-                .email("karadagoguzkaan@gmail.com")
+                .email("oguz.karadag@example.com")
                 .build();
         Employee employee2 = Employee.builder()
                 .firstname("Selcuk")
                 .lastname("Karadag")
-                .email("karadagselcuk@gmail.com")
+                .email("selcuk.karadag@example.com")
                 .build();
         employeeRepository.save(employee1);
         employeeRepository.save(employee2);
@@ -241,7 +248,8 @@ public class EmployeeRepositoryTest {
 
         // then - verify the output
         assertThat(foundEmployees).isNotEmpty();
-        assertThat(foundEmployees).hasSize(2);
+        // together with the two employees from setUp
+        assertThat(foundEmployees).hasSize(4);
         assertThat(foundEmployees).contains(employee1, employee2);
     }
     @Test
@@ -251,12 +259,12 @@ public class EmployeeRepositoryTest {
         Employee employee1 = Employee.builder()
                 .firstname("Oguz")
                 .lastname("Karadag")
-                .email("karadagoguzkaan@gmail.com")
+                .email("oguz.karadag@example.com")
                 .build();
         Employee employee2 = Employee.builder()
                 .firstname("Selcuk")
                 .lastname("Karadag")
-                .email("karadagselcuk@gmail.com")
+                .email("selcuk.karadag@example.com")
                 .build();
         employeeRepository.save(employee1);
         employeeRepository.save(employee2);
@@ -267,8 +275,9 @@ public class EmployeeRepositoryTest {
 
         // then - verify the output
         assertThat(foundEmployees).isNotEmpty();
-        assertThat(foundEmployees).hasSize(1);
-        assertThat(foundEmployees.get(0)).isEqualTo(employee1);
+        // together with the Oguz from setUp
+        assertThat(foundEmployees).hasSize(2);
+        assertThat(foundEmployees).contains(employee1);
     }
     @Test
     @DisplayName("JUnit test cases for EmployeeRepository's custom native query method to find employees by last name")
@@ -283,4 +292,162 @@ public class EmployeeRepositoryTest {
         assertEquals("Selcuk", employees.get(1).getFirstname());
     }
 
+    @Test
+    @DisplayName("JUnit test for keyset pagination query")
+    public void givenCursor_whenFindByIdGreaterThan_thenReturnNextEmployeesInIdOrder() {
+        // given - precondition or setup
+        List<Employee> firstPage = employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1));
+
+        // when - action or behavior that we are going to test
+        List<Employee> secondPage = employeeRepository.findByIdGreaterThanOrderByIdAsc(firstPage.get(0).getId(), Limit.of(10));
+
+        // then - verify the output
+        assertThat(firstPage).hasSize(1);
+        assertThat(firstPage.get(0).getFirstname()).isEqualTo("Oguz");
+        assertThat(secondPage).hasSize(1);
+        assertThat(secondPage.get(0).getFirstname()).isEqualTo("Selcuk");
+    }
+
+    @Test
+    @DisplayName("JUnit test for streaming all employees ordered by id")
+    public void givenEmployees_whenStreamAllOrderedById_thenEmployeesStreamedInIdOrder() {
+        // when - action or behavior that we are going to test
+        List<String> firstNames;
+        try (Stream<Employee> employees = employeeRepository.streamAllOrderedById()) {
+            firstNames = employees.map(Employee::getFirstname).toList();
+        }
+
+        // then - verify the output
+        assertThat(firstNames).containsExactly("Oguz", "Selcuk");
+    }
+
+    @Test
+    @DisplayName("JUnit test for the unique email constraint")
+    public void givenExistingEmail_whenSaveAndFlush_thenThrowException() {
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstname("Oguz")
+                .lastname("Karadag")
+                .email("karadagoguzkaan@gmail.com")
+                .build();
+
+        // when - action or behavior that we are going test and then - verify the output
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class, () -> {
+            employeeRepository.saveAndFlush(employee);
+        });
+        assertThat(exception.getCause()).isInstanceOf(ConstraintViolationException.class);
+        assertThat(((ConstraintViolationException) exception.getCause()).getConstraintName())
+                .containsIgnoringCase("uk_employees_email");
+    }
+
+    @Test
+    @DisplayName("JUnit test for patching only the supplied fields")
+    public void givenPartialFields_whenPatchById_thenOnlyThoseFieldsUpdated() {
+        // given - precondition or setup
+        Employee employee = employeeRepository.findByFirstname("Oguz").get(0);
+
+        // when - action or behavior that we are going to test
+        int updated = employeeRepository.patchById(employee.getId(), null, null, "updated.email@example.com");
+        int missing = employeeRepository.patchById(-1L, "Nobody", null, null);
+
+        // then - verify the output
+        Employee patchedEmployee = employeeRepository.findById(employee.getId()).get();
+        assertThat(updated).isEqualTo(1);
+        assertThat(missing).isZero();
+        assertThat(patchedEmployee.getFirstname()).isEqualTo("Oguz");
+        assertThat(patchedEmployee.getEmail()).isEqualTo("updated.email@example.com");
+    }
+
+    @Test
+    @DisplayName("JUnit test for set-based delete by id")
+    public void givenEmployeeIds_whenDeleteEmployeeById_thenAffectedRowsReturned() {
+        // given - precondition or setup
+        Employee employee = employeeRepository.findByFirstname("Oguz").get(0);
+
+        // when - action or behavior that we are going to test
+        int deleted = employeeRepository.deleteEmployeeById(employee.getId());
+        int missing = employeeRepository.deleteEmployeeById(employee.getId());
+
+        // then - verify the output
+        assertThat(deleted).isEqualTo(1);
+        assertThat(missing).isZero();
+        assertThat(employeeRepository.findById(employee.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("JUnit test for selecting ids by last name and deleting them in one statement")
+    public void givenLastName_whenFindIdsAndDeleteByIdIn_thenEmployeesDeleted() {
+        // when - action or behavior that we are going to test
+        List<Long> ids = employeeRepository.findIdsByLastname("Karadag", Limit.of(10));
+        int deleted = employeeRepository.deleteEmployeesByIdIn(ids);
+
+        // then - verify the output
+        assertThat(ids).hasSize(2);
+        assertThat(deleted).isEqualTo(2);
+        assertThat(employeeRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("JUnit test for locking the ids that exist before a bulk delete")
+    public void givenExistingAndMissingIds_whenLockExistingIds_thenOnlyExistingReturned() {
+        // given - precondition or setup
+        List<Long> ids = employeeRepository.findIdsByLastname("Karadag", Limit.of(10));
+
+        // when - action or behavior that we are going to test
+        List<Long> existingIds = employeeRepository.lockExistingIds(List.of(ids.get(1), -1L, ids.get(0)));
+
+        // then - verify the output
+        assertThat(existingIds).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    @DisplayName("JUnit test for read-only projection queries")
+    public void givenEmployees_whenFindViews_thenReturnProjectionsWithoutManagedEntities() {
+        // when -  action or the behaviour that we are going test
+        List<EmployeeView> all = employeeRepository.findAllViews();
+        List<EmployeeView> byLastName = employeeRepository.findViewsByLastnameLike("Kara%");
+        List<EmployeeView> byFirstName = employeeRepository.findViewsByFirstname("Selcuk");
+        List<EmployeeSummary> nativeSummaries = employeeRepository.findSummariesByLastNameWithNativeQuery("Karadag");
+
+        // then - verify the output
+        assertThat(all).extracting(EmployeeView::firstname).containsExactly("Oguz", "Selcuk");
+        assertThat(byLastName).hasSize(2);
+        assertThat(byFirstName).singleElement()
+                .extracting(EmployeeView::lastname, EmployeeView::email)
+                .containsExactly("Karadag", "karadagselcuk@gmail.com");
+        assertThat(nativeSummaries).extracting(EmployeeSummary::getEmail)
+                .containsExactlyInAnyOrder("karadagoguzkaan@gmail.com", "karadagselcuk@gmail.com");
+        assertThat(nativeSummaries).extracting(EmployeeSummary::getId).doesNotContain(0L);
+    }
+
+    @Test
+    @DisplayName("JUnit test for version bookkeeping used by ETags")
+    public void givenPatchedEmployee_whenFindVersion_thenVersionAndListVersionChanged() {
+        // given - precondition or setup
+        Employee employee = employeeRepository.findByFirstname("Oguz").get(0);
+        long versionBefore = employeeRepository.findVersionById(employee.getId()).get();
+        EmployeeListVersion listVersionBefore = employeeRepository.findListVersion();
+
+        // when - action or behavior that we are going to test
+        employeeRepository.patchById(employee.getId(), "Oguz Kaan", null, null);
+
+        // then - verify the output
+        assertThat(employeeRepository.findVersionById(employee.getId())).contains(versionBefore + 1);
+        assertThat(employeeRepository.findVersionById(-1L)).isEmpty();
+        assertThat(listVersionBefore.count()).isEqualTo(2);
+        assertThat(employeeRepository.findListVersion()).isNotEqualTo(listVersionBefore);
+    }
+
+    @Test
+    @DisplayName("JUnit test for rejecting an update based on a stale version")
+    public void givenStaleVersion_whenSave_thenThrowsOptimisticLockingFailure() {
+        // given - precondition or setup
+        Employee employee = employeeRepository.findByFirstname("Oguz").get(0);
+        Employee stale = employee.toBuilder().version(employee.getVersion() - 1).firstname("Stale").build();
+
+        // when - action or behavior that we are going to test
+        // then - verify the output
+        assertThrows(OptimisticLockingFailureException.class, () -> employeeRepository.saveAndFlush(stale));
+    }
+
 }
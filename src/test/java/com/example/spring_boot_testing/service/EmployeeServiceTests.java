@@ -1,26 +1,52 @@
 package com.example.spring_boot_testing.service;
 
-import com.example.spring_boot_testing.exception.ResourceNotFoundException;
+import com.example.spring_boot_testing.cache.EmployeeCache;
+import com.example.spring_boot_testing.exception.DuplicateEmployeeException;
+import com.example.spring_boot_testing.event.EmployeeChangedEvent;
+import com.example.spring_boot_testing.index.EmployeeEmailFilter;
+import com.example.spring_boot_testing.index.EmployeeNameIndex;
+import com.example.spring_boot_testing.index.EmployeeSearchIndex;
+import com.example.spring_boot_testing.dto.EmployeeBatchResult;
+import com.example.spring_boot_testing.dto.EmployeeMultiGet;
+import com.example.spring_boot_testing.dto.EmployeePage;
 import com.example.spring_boot_testing.model.Employee;
 import com.example.spring_boot_testing.repository.EmployeeRepository;
 import com.example.spring_boot_testing.service.impl.EmployeeServiceImpl;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.hibernate.exception.ConstraintViolationException;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
 
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +55,27 @@ public class EmployeeServiceTests {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private EmployeeEmailFilter employeeEmailFilter;
+
+    @Mock
+    private EmployeeNameIndex employeeNameIndex;
+
+    @Mock
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private EmployeeCache employeeCache = new EmployeeCache(100, Duration.ofMinutes(1), Duration.ofSeconds(1), Duration.ofSeconds(1));
+
+    @Spy
+    private TransactionOperations transactionOperations = TransactionOperations.withoutTransaction();
+
     @InjectMocks
     private EmployeeServiceImpl employeeService;
 
@@ -51,6 +98,7 @@ public class EmployeeServiceTests {
     @Test
     public void givenEmployeeObject_whenSaveEmployee_thenReturnEmployeeObject(){
         // given - precondition or setup
+        given(employeeEmailFilter.mightContain(employee.getEmail())).willReturn(true);
         given(employeeRepository.findByEmail(employee.getEmail()))
                 .willReturn(Optional.empty());
 
@@ -71,6 +119,7 @@ public class EmployeeServiceTests {
     @Test
     public void givenExistingEmail_whenSaveEmployee_thenThrowsException(){
         // given - precondition or setup
+        given(employeeEmailFilter.mightContain(employee.getEmail())).willReturn(true);
         given(employeeRepository.findByEmail(employee.getEmail()))
                 .willReturn(Optional.of(employee));
 
@@ -78,7 +127,7 @@ public class EmployeeServiceTests {
         System.out.println(employeeService);
 
         // when -  action or the behaviour that we are going test
-        org.junit.jupiter.api.Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+        org.junit.jupiter.api.Assertions.assertThrows(DuplicateEmployeeException.class, () -> {
             employeeService.saveEmployee(employee);
         });
 
@@ -165,15 +214,359 @@ public class EmployeeServiceTests {
         // given - precondition or setup
         long employeeId = 1L;
 
-        willDoNothing().given(employeeRepository).deleteById(employeeId);
+        given(employeeRepository.deleteEmployeeById(employeeId)).willReturn(1);
+
+        // when -  action or the behaviour that we are going test
+        boolean deleted = employeeService.deleteEmployee(employeeId);
+
+        // then - verify the output
+        assertThat(deleted).isTrue();
+        verify(employeeRepository, times(1)).deleteEmployeeById(employeeId);
+        verify(employeeRepository, never()).deleteById(any());
+    }
+
+    // JUnit test for getEmployeesPage method
+    @DisplayName("JUnit test for getEmployeesPage method")
+    @Test
+    public void givenMoreEmployeesThanPageSize_whenGetEmployeesPage_thenReturnNextCursor(){
+        // given - precondition or setup
+        Employee employee1 = Employee.builder()
+                .id(2L)
+                .firstname("Selcuk")
+                .lastname("KARADAG")
+                .email("karadagselcuk@gmail.com")
+                .build();
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2)))
+                .willReturn(List.of(employee, employee1));
+
+        // when -  action or the behaviour that we are going test
+        EmployeePage page = employeeService.getEmployeesPage(0L, 1, true);
+
+        // then - verify the output
+        assertThat(page.content()).containsExactly(employee);
+        assertThat(page.next()).isEqualTo(1L);
+        verify(employeeRepository, times(1)).count();
+    }
+
+    // JUnit test for saveEmployees method
+    @DisplayName("JUnit test for saveEmployees method")
+    @Test
+    public void givenEmployeesWithDuplicates_whenSaveEmployees_thenReturnPerItemResults(){
+        // given - precondition or setup
+        Employee existing = Employee.builder().firstname("Selcuk").lastname("KARADAG").email("karadagselcuk@gmail.com").build();
+        Employee repeated = Employee.builder().firstname("Oguz").lastname("KARADAG").email(employee.getEmail()).build();
+        Employee invalid = Employee.builder().firstname("Og").email("og@gmail.com").build();
+        given(employeeEmailFilter.mightContain(any())).willReturn(true);
+        given(employeeRepository.findExistingEmails(any())).willReturn(List.of("karadagselcuk@gmail.com"));
+        given(employeeRepository.save(employee)).willReturn(employee);
+
+        // when -  action or the behaviour that we are going test
+        List<EmployeeBatchResult> results = employeeService.saveEmployees(List.of(employee, existing, repeated, invalid));
+
+        // then - verify the output
+        assertThat(results).extracting(EmployeeBatchResult::status).containsExactly(
+                EmployeeBatchResult.Status.CREATED,
+                EmployeeBatchResult.Status.DUPLICATE,
+                EmployeeBatchResult.Status.DUPLICATE,
+                EmployeeBatchResult.Status.INVALID);
+        verify(employeeRepository, times(1)).findExistingEmails(any());
+        verify(employeeRepository, times(1)).save(any(Employee.class));
+        verify(employeeRepository, never()).findByEmail(any());
+    }
+
+    // JUnit test for saveEmployees method
+    @DisplayName("JUnit test for saveEmployees method when another batch inserted one of the emails first")
+    @Test
+    public void givenEmailInsertedConcurrently_whenSaveEmployees_thenRetryRowByRow(){
+        // given - precondition or setup
+        Employee other = Employee.builder().firstname("Selcuk").lastname("KARADAG").email("karadagselcuk@gmail.com").build();
+        ConstraintViolationException violation = new ConstraintViolationException("duplicate email", null, "UK_EMPLOYEES_EMAIL_INDEX_4");
+        given(employeeEmailFilter.mightContain(any())).willReturn(false);
+        willThrow(violation).given(entityManager).flush();
+        given(employeeRepository.save(employee)).willReturn(employee);
+        given(employeeRepository.save(other))
+                .willReturn(other)
+                .willThrow(new DataIntegrityViolationException("duplicate email", violation));
+
+        // when -  action or the behaviour that we are going test
+        List<EmployeeBatchResult> results = employeeService.saveEmployees(List.of(employee, other));
+
+        // then - verify the output
+        assertThat(results).extracting(EmployeeBatchResult::status).containsExactly(
+                EmployeeBatchResult.Status.CREATED,
+                EmployeeBatchResult.Status.DUPLICATE);
+        verify(employeeRepository, times(2)).save(employee);
+        verify(employeeRepository, times(2)).save(other);
+        verify(employeeRepository, never()).findExistingEmails(any());
+    }
+
+    // JUnit test for getEmployeeById method
+    @DisplayName("JUnit test for getEmployeeById method served from the cache until updated")
+    @Test
+    public void givenCachedEmployee_whenGetEmployeeByIdAfterUpdate_thenReloadFromRepository(){
+        // given - precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        given(employeeRepository.save(employee)).willReturn(employee);
+
+        // when -  action or the behaviour that we are going test
+        employeeService.getEmployeeById(1L);
+        employeeService.getEmployeeById(1L);
+        employeeService.updateEmployee(employee);
+        employeeService.getEmployeeById(1L);
+
+        // then - verify the output
+        verify(employeeRepository, times(2)).findById(1L);
+    }
+
+    // JUnit test for getEmployeeById method
+    @DisplayName("JUnit test for getEmployeeById method inside a transaction")
+    @Test
+    public void givenTransactionActive_whenGetEmployeeById_thenCacheNotFilled(){
+        // given - precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        // the lookup would join this transaction and use its connection, which may be the replica's
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // when -  action or the behaviour that we are going test
+        Optional<Employee> found;
+        try {
+            found = employeeService.getEmployeeById(1L);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        // then - verify the output
+        assertThat(found).hasValueSatisfying(e -> assertThat(e.getEmail()).isEqualTo(employee.getEmail()));
+        assertThat(employeeCache.size()).isZero();
+        verify(transactionOperations, never()).execute(any());
+    }
+
+    // JUnit test for updateEmployee method
+    @DisplayName("JUnit test for updateEmployee method losing to a concurrent writer")
+    @Test
+    public void givenStaleCachedEmployee_whenUpdateEmployeeFails_thenReloadFromRepository(){
+        // given - precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        given(employeeRepository.save(any(Employee.class)))
+                .willThrow(new ObjectOptimisticLockingFailureException(Employee.class, 1L));
+        Employee cachedEmployee = employeeService.getEmployeeById(1L).orElseThrow();
+
+        // when -  action or the behaviour that we are going test
+        assertThrows(OptimisticLockingFailureException.class, () -> employeeService.updateEmployee(cachedEmployee));
+        employeeService.getEmployeeById(1L);
+
+        // then - verify the output
+        verify(employeeRepository, times(2)).findById(1L);
+    }
+
+    // JUnit test for saveEmployee method
+    @DisplayName("JUnit test for saveEmployee method with an email the filter has never seen")
+    @Test
+    public void givenNewEmail_whenSaveEmployee_thenSkipEmailLookup(){
+        // given - precondition or setup
+        given(employeeEmailFilter.mightContain(employee.getEmail())).willReturn(false);
+        given(employeeRepository.save(employee)).willReturn(employee);
+
+        // when -  action or the behaviour that we are going test
+        employeeService.saveEmployee(employee);
+
+        // then - verify the output
+        verify(employeeRepository, never()).findByEmail(any());
+        verify(employeeEmailFilter, times(1)).add(employee.getEmail());
+    }
+
+    // JUnit test for saveEmployee method
+    @DisplayName("JUnit test for saveEmployee method when the unique email index rejects the insert")
+    @Test
+    public void givenConcurrentDuplicate_whenSaveEmployee_thenThrowsDuplicateException(){
+        // given - precondition or setup
+        given(employeeEmailFilter.mightContain(employee.getEmail())).willReturn(false);
+        given(employeeRepository.save(employee)).willThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", null, "PUBLIC.UK_EMPLOYEES_EMAIL_INDEX_F")));
+
+        // when -  action or the behaviour that we are going test
+        org.junit.jupiter.api.Assertions.assertThrows(DuplicateEmployeeException.class, () -> {
+            employeeService.saveEmployee(employee);
+        });
+
+        // then
+        verify(employeeEmailFilter, never()).add(any());
+    }
+
+    // JUnit test for patchEmployee method
+    @DisplayName("JUnit test for patchEmployee method")
+    @Test
+    public void givenPartialEmployee_whenPatchEmployee_thenSingleUpdateAndCacheInvalidated(){
+        // given - precondition or setup
+        Employee patch = Employee.builder().email("karoguzkaan@gmail.com").build();
+        Employee patchedEmployee = employee.toBuilder().email("karoguzkaan@gmail.com").version(1).build();
+        given(employeeRepository.patchById(1L, null, null, "karoguzkaan@gmail.com")).willReturn(1);
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(patchedEmployee));
+
+        // when -  action or the behaviour that we are going test
+        boolean patched = employeeService.patchEmployee(1L, patch);
+
+        // then - verify the output
+        assertThat(patched).isTrue();
+        // the row is only read back after the single UPDATE, for the change event
+        InOrder inOrder = inOrder(employeeRepository);
+        inOrder.verify(employeeRepository).patchById(1L, null, null, "karoguzkaan@gmail.com");
+        inOrder.verify(employeeRepository).findById(1L);
+        verify(employeeRepository, never()).save(any(Employee.class));
+        verify(employeeCache, times(1)).invalidate(1L);
+        verify(eventPublisher, times(1)).publishEvent(EmployeeChangedEvent.updated(1L, patchedEmployee));
+    }
+
+    // JUnit test for patchEmployee method
+    @DisplayName("JUnit test for patchEmployee method with a missing id")
+    @Test
+    public void givenMissingId_whenPatchEmployee_thenReturnFalse(){
+        // given - precondition or setup
+        Employee patch = Employee.builder().firstname("Og").build();
+        given(employeeRepository.patchById(2L, "Og", null, null)).willReturn(0);
+
+        // when -  action or the behaviour that we are going test
+        boolean patched = employeeService.patchEmployee(2L, patch);
+
+        // then - verify the output
+        assertThat(patched).isFalse();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    // JUnit test for deleteEmployeesByLastname method
+    @DisplayName("JUnit test for deleteEmployeesByLastname method deleting in chunks")
+    @Test
+    public void givenManyEmployeesWithLastName_whenDeleteEmployeesByLastname_thenDeleteChunkByChunk(){
+        // given - precondition or setup
+        List<Long> fullChunk = LongStream.rangeClosed(1, 500).boxed().toList();
+        List<Long> lastChunk = List.of(1000L, 1001L);
+        given(employeeRepository.findIdsByLastname("KARADAG", Limit.of(500)))
+                .willReturn(fullChunk, lastChunk);
+        given(employeeRepository.lockExistingIds(fullChunk)).willReturn(fullChunk);
+        given(employeeRepository.lockExistingIds(lastChunk)).willReturn(lastChunk);
+        given(employeeRepository.deleteEmployeesByIdIn(fullChunk)).willReturn(fullChunk.size());
+        given(employeeRepository.deleteEmployeesByIdIn(lastChunk)).willReturn(lastChunk.size());
+
+        // when -  action or the behaviour that we are going test
+        long deleted = employeeService.deleteEmployeesByLastname("KARADAG");
+
+        // then - verify the output
+        assertThat(deleted).isEqualTo(500 + 2);
+        verify(employeeRepository, times(2)).deleteEmployeesByIdIn(any());
+        verify(employeeCache, times(1)).invalidate(1001L);
+    }
+
+    // JUnit test for deleteEmployees method
+    @DisplayName("JUnit test for deleteEmployees method with ids that do not exist")
+    @Test
+    public void givenSomeMissingIds_whenDeleteEmployees_thenOnlyDeletedIdsPublished(){
+        // given - precondition or setup
+        List<Long> ids = List.of(1L, 2L, 3L);
+        given(employeeRepository.lockExistingIds(ids)).willReturn(List.of(2L));
+        given(employeeRepository.deleteEmployeesByIdIn(List.of(2L))).willReturn(1);
 
         // when -  action or the behaviour that we are going test
-        employeeService.deleteEmployee(employeeId);
+        long deleted = employeeService.deleteEmployees(ids);
 
         // then - verify the output
-        verify(employeeRepository, times(1)).deleteById(employeeId);
+        assertThat(deleted).isEqualTo(1);
+        verify(eventPublisher, times(1)).publishEvent(EmployeeChangedEvent.deleted(2L));
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+        verify(employeeCache, times(1)).invalidate(3L);
     }
 
+    // JUnit test for getEmployeeVersion method
+    @DisplayName("JUnit test for getEmployeeVersion method answering from the cache")
+    @Test
+    public void givenCachedEmployee_whenGetEmployeeVersion_thenNoVersionQuery(){
+        // given - precondition or setup
+        employee.setVersion(7);
+        given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
+        employeeService.getEmployeeById(employee.getId());
+
+        // when -  action or the behaviour that we are going test
+        Optional<Long> cachedVersion = employeeService.getEmployeeVersion(employee.getId());
+        given(employeeRepository.findVersionById(2L)).willReturn(Optional.of(1L));
+        Optional<Long> uncachedVersion = employeeService.getEmployeeVersion(2L);
+
+        // then - verify the output
+        assertThat(cachedVersion).contains(7L);
+        assertThat(uncachedVersion).contains(1L);
+        verify(employeeRepository, never()).findVersionById(employee.getId());
+    }
 
+    // JUnit test for getEmployeeById method
+    @DisplayName("JUnit test for concurrent getEmployeeById calls sharing one repository lookup")
+    @Test
+    public void givenConcurrentCallers_whenGetEmployeeById_thenOneQueryServesAll() throws InterruptedException {
+        // given - precondition or setup
+        int callers = 16;
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        given(employeeRepository.findById(1L)).willAnswer(invocation -> {
+            queryStarted.countDown();
+            releaseQuery.await(5, TimeUnit.SECONDS);
+            return Optional.of(employee);
+        });
+        ConcurrentLinkedQueue<Optional<Employee>> results = new ConcurrentLinkedQueue<>();
+        CountDownLatch finished = new CountDownLatch(callers);
+
+        // when -  action or the behaviour that we are going test
+        for (int i = 0; i < callers; i++) {
+            Thread.ofVirtual().start(() -> {
+                results.add(employeeService.getEmployeeById(1L));
+                finished.countDown();
+            });
+        }
+        assertThat(queryStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        // hold the lookup until every other caller has joined it
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (employeeCache.stats().missCount() < callers && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        releaseQuery.countDown();
+
+        // then - verify the output
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(results).hasSize(callers).allSatisfy(result -> assertThat(result).isPresent());
+        verify(employeeRepository, times(1)).findById(1L);
+    }
+
+    // JUnit test for getEmployeesByIds method
+    @DisplayName("JUnit test for getEmployeesByIds method reading cached ids first and the rest in chunks")
+    @Test
+    public void givenCachedAndUncachedIds_whenGetEmployeesByIds_thenOnlyMissesQueriedInChunks(){
+        // given - precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        employeeService.getEmployeeById(1L);
+        List<Long> ids = new ArrayList<>(List.of(1L, 1L));
+        for (long id = 600; id > 1; id--) {
+            ids.add(id);
+        }
+        given(employeeRepository.findAllById(any())).willAnswer(invocation -> {
+            List<Employee> found = new ArrayList<>();
+            for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+                // odd ids exist
+                if (id % 2 == 1) {
+                    found.add(Employee.builder().id(id).firstname("First" + id).lastname("Last").email(id + "@example.com").build());
+                }
+            }
+            return found;
+        });
+
+        // when -  action or the behaviour that we are going test
+        EmployeeMultiGet result = employeeService.getEmployeesByIds(ids);
+
+        // then - verify the output
+        assertThat(result.employees()).hasSize(300);
+        assertThat(result.employees().get(0)).extracting(Employee::getEmail).isEqualTo(employee.getEmail());
+        assertThat(result.employees().get(1).getId()).isEqualTo(599L);
+        assertThat(result.employees().get(299).getId()).isEqualTo(3L);
+        assertThat(result.missing()).hasSize(300).startsWith(600L, 598L).endsWith(2L);
+        // id 1 came from the cache, the other 599 distinct ids were read in chunks
+        verify(employeeRepository).findAllById(argThat(chunk -> chunk instanceof List<Long> list
+                && list.size() == 512 && !list.contains(1L)));
+        verify(employeeRepository).findAllById(argThat(chunk -> chunk instanceof List<Long> list && list.size() == 599 - 512));
+    }
 
 }
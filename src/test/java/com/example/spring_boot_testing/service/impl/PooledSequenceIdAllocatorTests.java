@@ -0,0 +1,38 @@
+package com.example.spring_boot_testing.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PooledSequenceIdAllocatorTests {
+
+    @DisplayName("JUnit test for handing out ids in pooled blocks")
+    @Test
+    public void givenSequenceIncrementingBy50_whenNextId_thenIdsOfEachBlockUsedBeforeNextFetch(){
+        // given - precondition or setup
+        AtomicLong sequence = new AtomicLong(-49);
+        AtomicInteger fetches = new AtomicInteger();
+        PooledSequenceIdAllocator allocator = new PooledSequenceIdAllocator(() -> Mono.fromSupplier(() -> {
+            fetches.incrementAndGet();
+            return sequence.addAndGet(50);
+        }), 50);
+
+        // when -  action or the behaviour that we are going test
+        List<Long> ids = Flux.range(0, 60).concatMap(i -> allocator.nextId()).collectList().block();
+
+        // then - verify the output
+        // sequence values 1 and 51: the first block is just id 1, like Hibernate's pooled optimizer, then 2..51
+        assertThat(ids).doesNotHaveDuplicates();
+        assertThat(ids.subList(0, 3)).containsExactly(1L, 2L, 3L);
+        assertThat(ids.get(50)).isEqualTo(51L);
+        assertThat(ids.get(51)).isEqualTo(52L);
+        assertThat(fetches).hasValue(3);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.spring_boot_testing.web;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConnectionPoolBulkheadFilterTests {
+
+    @DisplayName("JUnit test for rejecting requests once all permits are in use")
+    @Test
+    public void givenAllPermitsInUse_whenRequest_thenReturn503() throws Exception {
+        // given - precondition or setup
+        ConnectionPoolBulkheadFilter filter = new ConnectionPoolBulkheadFilter(1, Duration.ofMillis(50));
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<?> holder = executor.submit(() -> {
+                filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (request, response) -> {
+                    inside.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                return null;
+            });
+            inside.await();
+
+            // when -  action or the behaviour that we are going test
+            MockHttpServletResponse rejected = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest(), rejected, new MockFilterChain());
+            release.countDown();
+            holder.get();
+
+            // then - verify the output
+            assertThat(rejected.getStatus()).isEqualTo(503);
+            assertThat(filter.availablePermits()).isEqualTo(1);
+        }
+    }
+
+}
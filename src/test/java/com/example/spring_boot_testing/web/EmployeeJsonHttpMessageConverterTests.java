@@ -0,0 +1,83 @@
+package com.example.spring_boot_testing.web;
+
+import com.example.spring_boot_testing.model.Employee;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeJsonHttpMessageConverterTests {
+
+    private static final Type EMPLOYEE_LIST = new TypeReference<List<Employee>>() {
+    }.getType();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @DisplayName("JUnit test for writing an employee list byte-for-byte like Jackson")
+    @Test
+    public void givenEmployeesLargerThanOneBuffer_whenWrite_thenSameBytesAsJackson() throws Exception {
+        // given - precondition or setup
+        EmployeeJsonHttpMessageConverter converter = new EmployeeJsonHttpMessageConverter(objectMapper);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            employees.add(Employee.builder()
+                    .id(i == 0 ? Long.MIN_VALUE : i * 7919L)
+                    .firstname(i % 3 == 0 ? "Oğuz\t\"Kaan\"" : "Ramesh")
+                    .lastname(i % 5 == 0 ? "Karadağ \\ \u001F 🚀" : "Fadatare")
+                    .email(i % 7 == 0 ? null : "employee" + i + "@example.com")
+                    .version(i)
+                    .build());
+        }
+        MockHttpOutputMessage listMessage = new MockHttpOutputMessage();
+        MockHttpOutputMessage singleMessage = new MockHttpOutputMessage();
+
+        // when -  action or the behaviour that we are going test
+        converter.write(employees, EMPLOYEE_LIST, MediaType.APPLICATION_JSON, listMessage);
+        converter.write(employees.get(3), Employee.class, MediaType.APPLICATION_JSON, singleMessage);
+
+        // then - verify the output
+        assertThat(listMessage.getBodyAsBytes()).isEqualTo(objectMapper.writeValueAsBytes(employees));
+        assertThat(singleMessage.getBodyAsBytes()).isEqualTo(objectMapper.writeValueAsBytes(employees.get(3)));
+        assertThat(listMessage.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @DisplayName("JUnit test for claiming only employee bodies")
+    @Test
+    public void givenOtherTypes_whenCanWriteOrRead_thenLeftToJackson() {
+        // given - precondition or setup
+        EmployeeJsonHttpMessageConverter converter = new EmployeeJsonHttpMessageConverter(objectMapper);
+
+        // when -  action or the behaviour that we are going test
+        // then - verify the output
+        assertThat(converter.canWrite(EMPLOYEE_LIST, ArrayList.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(Employee.class, Employee.class, null)).isTrue();
+        assertThat(converter.canWrite(Employee.class, Employee.class, MediaType.APPLICATION_XML)).isFalse();
+        assertThat(converter.canWrite(List.class, ArrayList.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(String.class, String.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canRead(Employee.class, null, MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    @DisplayName("JUnit test for falling back to Jackson when the ObjectMapper is customized")
+    @Test
+    public void givenCustomizedObjectMapper_whenCanWrite_thenFallBackToJackson() {
+        // given - precondition or setup
+        ObjectMapper customized = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+        // when -  action or the behaviour that we are going test
+        EmployeeJsonHttpMessageConverter converter = new EmployeeJsonHttpMessageConverter(customized);
+
+        // then - verify the output
+        assertThat(converter.canWrite(Employee.class, Employee.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(EMPLOYEE_LIST, ArrayList.class, MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+}
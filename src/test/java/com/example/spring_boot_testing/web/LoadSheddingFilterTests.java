@@ -0,0 +1,48 @@
+package com.example.spring_boot_testing.web;
+
+import com.example.spring_boot_testing.datasource.ConnectionPoolSaturation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class LoadSheddingFilterTests {
+
+    @DisplayName("JUnit test for shedding requests while the pool is saturated")
+    @Test
+    public void givenSaturatedPool_whenRequest_thenReturn503WithRetryAfter() throws Exception {
+        // given - precondition or setup
+        ConnectionPoolSaturation saturation = mock(ConnectionPoolSaturation.class);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LoadSheddingFilter filter = new LoadSheddingFilter(saturation, Duration.ofSeconds(2), meterRegistry);
+        given(saturation.overloaded())
+                .willReturn(Optional.of(ConnectionPoolSaturation.Reason.PENDING_ACQUISITIONS), Optional.empty());
+
+        // when -  action or the behaviour that we are going test
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockFilterChain rejectedChain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest(), rejected, rejectedChain);
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        MockFilterChain admittedChain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest(), admitted, admittedChain);
+
+        // then - verify the output
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(rejectedChain.getRequest()).isNull();
+        assertThat(admitted.getStatus()).isEqualTo(200);
+        assertThat(admittedChain.getRequest()).isNotNull();
+        assertThat(meterRegistry.get(LoadSheddingFilter.SHED_COUNTER).tag("reason", "pending_acquisitions").counter().count())
+                .isEqualTo(1);
+    }
+}